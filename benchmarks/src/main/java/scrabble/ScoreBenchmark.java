@@ -0,0 +1,59 @@
+package scrabble;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoreBenchmark class times ScoreGrid.score on the best word of each
+ * board in example_input.txt, packed the way the solver packs every word
+ * it finds.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ScoreBenchmark {
+
+    private static final String DICTIONARY = "sowpods.txt";
+
+    @Param({"1", "2", "3", "4"})
+    private int board;
+
+    private ScoreGrid scoreGrid;
+    private long[] move;
+    private int tilesLeft;
+
+    /**
+     * Solves the board to find the word that is scored.
+     * @throws IOException because the board is read from input
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Dictionary tree = new Trie(DICTIONARY);
+        String[] text = SolverBenchmark.readPuzzles().get(this.board - 1);
+        Board puzzle = SolverBenchmark.readBoard(text[0]);
+        Solver solver = new Solver(tree);
+        solver.setBoardAnchors(solver.findAnchors(puzzle));
+        Tray tray = SolverBenchmark.makeTray(text[1]);
+        solver.solve(puzzle, tray);
+        this.tilesLeft = tray.getTray().size();
+        this.move = new long[Move.longsFor(
+                solver.getScore().getHighScoreWord().size())];
+        Move.pack(solver.getScore().getHighScoreWord(),
+                solver.getScore().getWordToPlay(), 0, this.move, 0);
+        this.scoreGrid = new ScoreGrid(puzzle.copyBoard());
+    }
+
+    /**
+     * Scores the word.
+     * @return score of the word
+     */
+    @Benchmark
+    public int scoreWord(){
+        return this.scoreGrid.score(this.move, 0, this.tilesLeft);
+    }
+}
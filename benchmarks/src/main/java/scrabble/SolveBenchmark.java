@@ -0,0 +1,66 @@
+package scrabble;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SolveBenchmark class times Solver.solve on the boards of
+ * example_input.txt with zero, one and two blanks in the tray, using the
+ * same trays as SolverBenchmark, with both the left to right solver and
+ * the GaddagSolver.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class SolveBenchmark {
+
+    private static final String DICTIONARY = "sowpods.txt";
+
+    @Param({"1", "2", "3", "4"})
+    private int board;
+
+    @Param({"0", "1", "2"})
+    private int blanks;
+
+    @Param({"classic", "gaddag"})
+    private String engine;
+
+    private Dictionary tree;
+    private Gaddag gaddag;
+    private Board puzzle;
+    private List<Tile> tray;
+
+    /**
+     * Builds the dictionary and reads in the board and tray.
+     * @throws IOException because the board is read from input
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.tree = new Trie(DICTIONARY);
+        if(this.engine.equals("gaddag")){
+            this.gaddag = new Gaddag(DICTIONARY);
+        }
+        String[] text = SolverBenchmark.readPuzzles().get(this.board - 1);
+        this.puzzle = SolverBenchmark.readBoard(text[0]);
+        this.tray = SolverBenchmark.makeTray(SolverBenchmark.withBlanks(
+                text[1], this.blanks)).getTray();
+    }
+
+    /**
+     * Finds the anchors and solves the board with a new tray.
+     * @return tiles of the word to play
+     */
+    @Benchmark
+    public List<BoardCell> solve(){
+        Solver solver = new Solver(this.tree, this.gaddag);
+        solver.setBoardAnchors(solver.findAnchors(this.puzzle));
+        return solver.solve(this.puzzle,
+                new Tray(new LinkedList<>(this.tray)));
+    }
+}
@@ -0,0 +1,31 @@
+package scrabble;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrieBuildBenchmark class times building a Trie from each of the bundled
+ * dictionaries.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class TrieBuildBenchmark {
+
+    @Param({"enable.txt", "twl06.txt", "sowpods.txt"})
+    private String dictionary;
+
+    /**
+     * Builds the trie.
+     * @return new trie
+     */
+    @Benchmark
+    public Trie build(){
+
+        return new Trie(this.dictionary);
+    }
+}
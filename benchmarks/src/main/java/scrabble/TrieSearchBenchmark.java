@@ -0,0 +1,74 @@
+package scrabble;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrieSearchBenchmark class times Trie.search and Trie.searchPartial over
+ * a sample of the words in a dictionary, half of them changed so they
+ * miss. The time is per lookup.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class TrieSearchBenchmark {
+
+    private static final int SAMPLE = 4096;
+
+    @Param({"enable.txt", "twl06.txt", "sowpods.txt"})
+    private String dictionary;
+
+    private Trie trie;
+    private String[] words;
+    private String[] partials;
+
+    /**
+     * Builds the trie and picks the words to look up.
+     */
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.trie = new Trie(this.dictionary);
+        List<String> all = Trie.readSortedWords(this.dictionary);
+        Random random = new Random(42);
+        this.words = new String[SAMPLE];
+        this.partials = new String[SAMPLE];
+        for(int i = 0; i < SAMPLE; i++){
+            String word = all.get(random.nextInt(all.size()));
+            if(i % 2 == 1){
+                word = word + "q";
+            }
+            this.words[i] = word;
+            this.partials[i] = word.substring(0, (word.length() + 1) / 2);
+        }
+    }
+
+    /**
+     * Looks up every sample word.
+     * @param blackhole keeps the results from being thrown away
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE)
+    public void search(Blackhole blackhole){
+        for(String word: this.words){
+            blackhole.consume(this.trie.search(word));
+        }
+    }
+
+    /**
+     * Looks up the first half of every sample word as a partial word.
+     * @param blackhole keeps the results from being thrown away
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE)
+    public void searchPartial(Blackhole blackhole){
+        for(String partial: this.partials){
+            blackhole.consume(this.trie.searchPartial(partial));
+        }
+    }
+}
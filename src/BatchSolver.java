@@ -0,0 +1,181 @@
+package scrabble;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * BatchSolver class solves a stream of boards on a pool of worker threads.
+ * The boards are read on one thread and every worker shares the same
+ * dictionary, which is only ever read. Solutions are printed in the order
+ * the boards were read and once the input runs out the boards per second
+ * and per board latencies are reported, ex:
+ * java -jar solver.jar dictionary.txt --batch 4 < input.txt > output.txt
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class BatchSolver {
+
+    private static final int BOARDS_PER_WORKER = 4;
+
+    private DictionaryHandle tree;
+    private Gaddag gaddag;
+    private ForkJoinPool pool;
+    private int workers;
+    private int top;
+    private long budget;
+
+    /**
+     * BatchSolver constructor.
+     * @param tree handle of the dictionary of words
+     * @param gaddag gaddag to solve with or null
+     * @param pool pool to split each board's anchors across or null
+     * @param workers number of boards solved at once
+     */
+    public BatchSolver(DictionaryHandle tree, Gaddag gaddag,
+                       ForkJoinPool pool, int workers){
+        this.tree = tree;
+        this.gaddag = gaddag;
+        this.pool = pool;
+        this.workers = workers;
+    }
+
+    /**
+     * Sets how many of the best moves are listed after each solution.
+     * @param top number of moves, or 0 for none
+     */
+    protected void setTop(int top){
+
+        this.top = top;
+    }
+
+    /**
+     * Sets the time budget of each solve.
+     * @param budget time budget in milliseconds, or 0 to search everything
+     */
+    protected void setBudget(long budget){
+
+        this.budget = budget;
+    }
+
+    /**
+     * Solved class holds the text printed for a board and how long it took.
+     */
+    private static class Solved {
+
+        private String text;
+        private long nanos;
+
+        /**
+         * Solved constructor.
+         * @param text text printed for the board
+         * @param nanos time taken to solve the board
+         */
+        Solved(String text, long nanos){
+            this.text = text;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Reads boards until the input runs out and prints each solution in
+     * order. Only a few boards per worker are read ahead so a long input
+     * doesn't have to fit in memory.
+     * @param scanner scanner over the boards
+     * @param out where solutions are printed
+     * @param report where the timings are printed
+     * @throws IOException because boards are read from input
+     */
+    public void run(Scanner scanner, PrintStream out, PrintStream report)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(this.workers);
+        Deque<Future<Solved>> pending = new ArrayDeque<>();
+        List<Long> latencies = new ArrayList<>();
+        long start = System.nanoTime();
+        try{
+            while(scanner.hasNextLine()){
+                int size = scanner.nextInt();
+                Board board = Solver.readInBoard(scanner, size);
+                String tray = scanner.nextLine();
+                pending.add(executor.submit(() -> this.solve(board, tray)));
+                if(pending.size() >= this.workers * BOARDS_PER_WORKER){
+                    this.print(pending.poll(), out, latencies);
+                }
+            }
+            while(!pending.isEmpty()){
+                this.print(pending.poll(), out, latencies);
+            }
+        }finally{
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        this.report(latencies, elapsed, report);
+    }
+
+    /**
+     * Solves one board and times it.
+     * @param board board to solve
+     * @param tray string of the tray letters
+     * @return text printed for the board and its time
+     */
+    private Solved solve(Board board, String tray){
+        long start = System.nanoTime();
+        String text = Solver.solveBoard(this.tree, this.gaddag, this.pool,
+                board, tray, this.top, this.budget);
+        return new Solved(text, System.nanoTime() - start);
+    }
+
+    /**
+     * Waits for a board to be solved and prints it.
+     * @param solved board being solved
+     * @param out where solutions are printed
+     * @param latencies times of the boards printed so far
+     */
+    private void print(Future<Solved> solved, PrintStream out,
+                       List<Long> latencies){
+        Solved result;
+        try{
+            result = solved.get();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted solving boards", e);
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Board could not be solved",
+                    e.getCause());
+        }
+        out.print(result.text);
+        latencies.add(result.nanos);
+    }
+
+    /**
+     * Prints the boards per second and the 50th and 99th percentile time
+     * taken to solve a board.
+     * @param latencies time taken by each board
+     * @param elapsed time taken by the whole run
+     * @param report where the timings are printed
+     */
+    private void report(List<Long> latencies, long elapsed,
+                        PrintStream report){
+        Collections.sort(latencies);
+        double seconds = elapsed / 1000000000.0;
+        report.printf("%d boards in %.2f s, %.1f boards/sec, " +
+                "p50 %.1f ms, p99 %.1f ms%n", latencies.size(), seconds,
+                latencies.size() / seconds, percentile(latencies, 50),
+                percentile(latencies, 99));
+    }
+
+    /**
+     * Returns a percentile of sorted times in milliseconds using the
+     * nearest rank.
+     * @param sorted sorted times in nanoseconds
+     * @param percent percentile wanted
+     * @return time in milliseconds
+     */
+    private static double percentile(List<Long> sorted, int percent){
+        if(sorted.isEmpty()){
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1) / 1000000.0;
+    }
+}
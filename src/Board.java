@@ -4,6 +4,8 @@ import java.util.*;
 
 /**
  * Board class contains methods and constructor for board object.
+ * The cells are kept in an array in row order so any cell can be looked up
+ * by its coordinates straight away.
  * @author Sam Cox
  * @version date 3/6/20
  */
@@ -11,6 +13,7 @@ public class Board {
 
     private int rows;
     private int cols;
+    private BoardCell[] cells;
     private List<BoardCell> gameBoard;
     private StringBuilder textBoard;
     private TilesBag bag;
@@ -25,15 +28,43 @@ public class Board {
      */
     public Board(int rows, int cols, StringBuilder textBoard)
             throws IOException{
-        this.gameBoard = new LinkedList<>();
         this.rows = rows;
         this.cols = cols;
+        this.cells = new BoardCell[rows * cols];
+        this.gameBoard = Collections.unmodifiableList(
+                Arrays.asList(this.cells));
         this.textBoard = textBoard;
         this.bag = new TilesBag();
         makeBoard();
 
     }
 
+    /**
+     * Board constructor makes a copy of another board without going
+     * through its text. Each cell is copied with the same tile, tiles are
+     * shared since they don't change once on the board. Like a copy made
+     * from the text, cells with a tile have no multipliers.
+     * @param original board being copied
+     */
+    private Board(Board original){
+        this.rows = original.rows;
+        this.cols = original.cols;
+        this.textBoard = original.textBoard;
+        this.bag = original.bag.copyBag();
+        this.cells = new BoardCell[original.cells.length];
+        this.gameBoard = Collections.unmodifiableList(
+                Arrays.asList(this.cells));
+        int noMulti = 1;
+        for(int i = 0; i < this.cells.length; i++){
+            BoardCell cell = original.cells[i].copyCell();
+            if(cell.hasTile()){
+                cell.setLetterMultiplier(noMulti);
+                cell.setWordMultipier(noMulti);
+            }
+            this.cells[i] = cell;
+        }
+    }
+
     /**
      * Returns number of rows
      * @return number of rows
@@ -69,8 +100,7 @@ public class Board {
         int letterMulti = 1;
         for(int i = 0; i < this.rows; i++){
             for(int j = 0; j < this.cols; j++){
-                BoardCell boardCell = new BoardCell(j,i);
-                this.gameBoard.add(boardCell);
+                this.cells[i * this.cols + j] = new BoardCell(j,i);
             }
         }
         Scanner scanner = new Scanner(this.textBoard.toString());
@@ -125,46 +155,37 @@ public class Board {
             default:
                 break;
         }
-        if(x < this.cols && y < this.rows){
-            return this.getCell(x,y);
-        }else{
-            return null;
-        }
+        return this.getCell(x,y);
 
     }
 
     /**
-     * Returns a copy of the board(not the same reference)
-     * @param board string of the board being copied
+     * Returns a copy of the board(not the same reference) made straight
+     * from its cells, without writing it out as text or reading the tiles
+     * file again.
      * @return new board
-     * @throws IOException because board is read from input
      */
-    protected Board copyBoard(String board) throws IOException {
-        StringBuilder boardBuild = new StringBuilder(board);
-        int rows = this.rows;
-        int cols = this.cols;
+    protected Board copyBoard(){
 
-        return new Board(rows,cols,boardBuild);
+        return new Board(this);
     }
 
     /**
      * Gets the cell from the given x and y coordinate.
      * @param x coord
      * @param y coord
-     * @return cell at x y
+     * @return cell at x y or null if x y is off the board
      */
     protected BoardCell getCell(int x, int y){
-        for(BoardCell cell : this.gameBoard){
-            if(cell.getXCell() == x && cell.getYCell() == y){
-                return cell;
-            }
+        if(x < 0 || y < 0 || x >= this.cols || y >= this.rows){
+            return null;
         }
-        return null;
+        return this.cells[y * this.cols + x];
     }
 
     /**
      * Returns the board
-     * @return list of board cells
+     * @return list of board cells in row order, the list can't be changed
      */
     protected List<BoardCell> getBoard(){
 
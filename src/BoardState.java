@@ -0,0 +1,206 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * BoardState class keeps the anchors, cross checks and score grid of a
+ * board that is being played on. They are worked out once for the whole
+ * board and then, after each move, only the cells next to the tiles that
+ * were placed are worked out again, so getting a solver ready for a turn
+ * costs about the number of tiles placed instead of the size of the board.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class BoardState {
+
+    private Board board;
+    private DictionaryHandle handle;
+    private CrossChecks crossChecks;
+    private ScoreGrid scoreGrid;
+    private BoardCell[][] grid;
+    private Map<Integer, BoardCell> anchors = new TreeMap<>();
+    private boolean[] changedRows;
+    private boolean[] changedCols;
+
+    /**
+     * BoardState constructor works out the anchors and cross checks of the
+     * whole board.
+     * @param board board being played on
+     * @param tree dictionary
+     */
+    public BoardState(Board board, Dictionary tree){
+
+        this(board, DictionaryHandle.of(tree));
+    }
+
+    /**
+     * BoardState constructor works out the anchors and cross checks of the
+     * whole board with a dictionary from a handle. The dictionary is asked
+     * for once each time cross checks are worked out and isn't kept, so a
+     * registry can let go of it between moves.
+     * @param board board being played on
+     * @param handle handle of the dictionary
+     */
+    public BoardState(Board board, DictionaryHandle handle){
+        this.board = board;
+        this.handle = handle;
+        this.crossChecks = new CrossChecks(board, handle.getDictionary());
+        this.scoreGrid = new ScoreGrid(board);
+        this.grid = new BoardCell[board.getRows()][board.getCols()];
+        this.changedRows = new boolean[board.getRows()];
+        this.changedCols = new boolean[board.getCols()];
+        for(BoardCell cell: board.getBoard()){
+            this.grid[cell.getYCell()][cell.getXCell()] = cell;
+        }
+        for(BoardCell cell: board.getBoard()){
+            this.updateAnchor(cell.getXCell(), cell.getYCell());
+        }
+    }
+
+    /**
+     * Returns the anchors of the board in row order.
+     * @return list of anchors
+     */
+    protected List<BoardCell> getAnchors(){
+
+        return new ArrayList<>(this.anchors.values());
+    }
+
+    /**
+     * Returns the cross checks of the board.
+     * @return cross checks
+     */
+    protected CrossChecks getCrossChecks(){
+
+        return this.crossChecks;
+    }
+
+    /**
+     * Returns the score grid of the board.
+     * @return score grid
+     */
+    protected ScoreGrid getScoreGrid(){
+
+        return this.scoreGrid;
+    }
+
+    /**
+     * Updates the anchors, cross checks and score grid after tiles were
+     * placed on the board. Only the placed cells, their neighbours and the
+     * empty cells at each end of the rows and columns of tiles they joined
+     * are looked at.
+     * @param placed cells where tiles were placed, the tiles must already be
+     *               on the board
+     */
+    protected void update(List<BoardCell> placed){
+        int[][] steps = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+        Dictionary tree = this.handle.getDictionary();
+        for(BoardCell cell: placed){
+            int x = cell.getXCell();
+            int y = cell.getYCell();
+            this.updateAnchor(x, y);
+            this.crossChecks.updateCell(tree, x, y);
+            this.scoreGrid.updateCell(x, y);
+            this.changed(x, y);
+            for(int[] step: steps){
+                int nextX = x + step[0];
+                int nextY = y + step[1];
+                while(this.onBoard(nextX, nextY) &&
+                        this.grid[nextY][nextX].hasTile()){
+                    nextX += step[0];
+                    nextY += step[1];
+                }
+                if(this.onBoard(nextX, nextY)){
+                    this.crossChecks.updateCell(tree, nextX, nextY);
+                    this.scoreGrid.updateCell(nextX, nextY);
+                    this.changed(nextX, nextY);
+                }
+                if(this.onBoard(x + step[0], y + step[1])){
+                    this.updateAnchor(x + step[0], y + step[1]);
+                    this.changed(x + step[0], y + step[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the row and column of a cell whose tile, anchor or cross checks
+     * were updated.
+     * @param x x coord
+     * @param y y coord
+     */
+    private void changed(int x, int y){
+        this.changedRows[y] = true;
+        this.changedCols[x] = true;
+    }
+
+    /**
+     * Checks if anything in a row changed since clearChanges was called.
+     * Words built across a row that didn't change are the same as before.
+     * @param y row
+     * @return true or false
+     */
+    protected boolean rowChanged(int y){
+
+        return this.changedRows[y];
+    }
+
+    /**
+     * Checks if anything in a column changed since clearChanges was called.
+     * Words built down a column that didn't change are the same as before.
+     * @param x column
+     * @return true or false
+     */
+    protected boolean colChanged(int x){
+
+        return this.changedCols[x];
+    }
+
+    /**
+     * Forgets which rows and columns changed.
+     */
+    protected void clearChanges(){
+        Arrays.fill(this.changedRows, false);
+        Arrays.fill(this.changedCols, false);
+    }
+
+    /**
+     * Makes a cell an anchor if it is empty and next to a tile, and takes
+     * it out of the anchors otherwise.
+     * @param x x coord
+     * @param y y coord
+     */
+    private void updateAnchor(int x, int y){
+        int index = y * this.board.getCols() + x;
+        BoardCell cell = this.grid[y][x];
+        boolean anchor = !cell.hasTile() && (this.hasTile(x, y - 1) ||
+                this.hasTile(x, y + 1) || this.hasTile(x - 1, y) ||
+                this.hasTile(x + 1, y));
+        if(anchor){
+            this.anchors.put(index, cell);
+        }else{
+            this.anchors.remove(index);
+        }
+    }
+
+    /**
+     * Checks if a coordinate is on the board.
+     * @param x x coord
+     * @param y y coord
+     * @return true or false
+     */
+    private boolean onBoard(int x, int y){
+        return x >= 0 && y >= 0 && x < this.board.getCols() &&
+                y < this.board.getRows();
+    }
+
+    /**
+     * Checks if a cell is on the board and has a tile.
+     * @param x x coord
+     * @param y y coord
+     * @return true or false
+     */
+    private boolean hasTile(int x, int y){
+
+        return this.onBoard(x, y) && this.grid[y][x].hasTile();
+    }
+}
@@ -0,0 +1,338 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * CompactTrie class contains methods and constructor for a dictionary
+ * that keeps its nodes in flat int arrays instead of a TrieNode and a
+ * HashMap per letter. Each node has a child mask with one bit per letter
+ * and the children of a node sit next to each other in the edge array,
+ * so a child is found by counting the mask bits below its letter.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class CompactTrie implements Dictionary {
+
+    protected static final int LEAF = 1 << 31;
+    protected static final int LETTERS = 27;
+
+    private int root;
+    private int[] masks;
+    private int[] firstEdge;
+    private int[] edges;
+    private int nodeCount;
+    private int edgeCount;
+
+    /**
+     * Constructor for CompactTrie makes a new dictionary based on an input
+     * file.
+     * @param file file name
+     */
+    public CompactTrie(String file){
+
+        this(Trie.readSortedWords(file));
+    }
+
+    /**
+     * Constructor for CompactTrie makes a new dictionary from a list of
+     * lower case words sorted alphabetically.
+     * @param sortedWords sorted words
+     */
+    public CompactTrie(List<String> sortedWords){
+        int size = Math.max(16, sortedWords.size() * 4);
+        this.masks = new int[size];
+        this.firstEdge = new int[size];
+        this.edges = new int[size];
+        this.build(sortedWords);
+        this.trim();
+    }
+
+    /**
+     * Constructor for CompactTrie that wraps arrays that were already built.
+     * Nodes may be shared by more than one parent, which is how the
+     * DawgBuilder stores its graph.
+     * @param root root node
+     * @param masks child mask and leaf bit of each node
+     * @param firstEdge index of the first child of each node
+     * @param edges child node of each edge
+     * @param nodeCount number of nodes
+     * @param edgeCount number of edges
+     */
+    protected CompactTrie(int root, int[] masks, int[] firstEdge,
+                          int[] edges, int nodeCount, int edgeCount){
+        this.root = root;
+        this.masks = masks;
+        this.firstEdge = firstEdge;
+        this.edges = edges;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Builds the arrays from sorted words. A node is only written out once
+     * every word under it has been read, which keeps its children together.
+     * @param sortedWords sorted words
+     */
+    private void build(List<String> sortedWords){
+        int maxLength = 1;
+        for(String word: sortedWords){
+            maxLength = Math.max(maxLength, word.length());
+        }
+        int[] path = new int[maxLength + 1];
+        int[][] children = new int[maxLength + 1][LETTERS];
+        int[] childCount = new int[maxLength + 1];
+        String previous = "";
+
+        this.root = this.newNode();
+        path[0] = this.root;
+        for(String word: sortedWords){
+            int common = 0;
+            int limit = Math.min(word.length(), previous.length());
+            while(common < limit && word.charAt(common) ==
+                    previous.charAt(common)){
+                common++;
+            }
+            for(int depth = previous.length(); depth > common; depth--){
+                this.closeNode(path[depth], children[depth],
+                        childCount[depth]);
+            }
+            for(int depth = common; depth < word.length(); depth++){
+                int node = this.newNode();
+                int letter = index(word.charAt(depth));
+                this.masks[path[depth]] |= 1 << letter;
+                children[depth][childCount[depth]++] = node;
+                path[depth + 1] = node;
+                childCount[depth + 1] = 0;
+            }
+            if(word.length() > 0){
+                this.masks[path[word.length()]] |= LEAF;
+            }
+            previous = word;
+        }
+        for(int depth = previous.length(); depth >= 0; depth--){
+            this.closeNode(path[depth], children[depth], childCount[depth]);
+        }
+    }
+
+    /**
+     * Adds a new empty node to the arrays.
+     * @return id of the node
+     */
+    private int newNode(){
+        if(this.nodeCount == this.masks.length){
+            int size = this.masks.length * 2;
+            this.masks = Arrays.copyOf(this.masks, size);
+            this.firstEdge = Arrays.copyOf(this.firstEdge, size);
+        }
+        return this.nodeCount++;
+    }
+
+    /**
+     * Writes the children of a finished node into the edge array.
+     * @param node finished node
+     * @param children child nodes in letter order
+     * @param count number of children
+     */
+    private void closeNode(int node, int[] children, int count){
+        if(this.edgeCount + count > this.edges.length){
+            this.edges = Arrays.copyOf(this.edges,
+                    Math.max(this.edges.length * 2, this.edgeCount + count));
+        }
+        this.firstEdge[node] = this.edgeCount;
+        System.arraycopy(children, 0, this.edges, this.edgeCount, count);
+        this.edgeCount += count;
+    }
+
+    /**
+     * Returns the index of a letter in the child mask. The letters a to z
+     * take the first 26 bits and the Gaddag separator, the character after
+     * z, takes the last one.
+     * @param letter lower case letter
+     * @return index or -1 if it is not a letter
+     */
+    protected static int index(char letter){
+        int index = letter - 'a';
+        if(index < 0 || index >= LETTERS){
+            return -1;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the root node.
+     * @return root node
+     */
+    @Override
+    public int getRoot(){
+
+        return this.root;
+    }
+
+    /**
+     * Checks if a node ends a word.
+     * @param node node to check
+     * @return true or false
+     */
+    @Override
+    public boolean isLeaf(int node){
+
+        return (this.masks[node] & LEAF) != 0;
+    }
+
+    /**
+     * Returns the letters a node has children for, one bit per letter.
+     * @param node node to check
+     * @return child mask
+     */
+    @Override
+    public int getChildMask(int node){
+
+        return this.masks[node] & ~LEAF;
+    }
+
+    /**
+     * Returns the child of a node for a letter.
+     * @param node parent node
+     * @param letter letter of the child
+     * @return child node or -1 if there is none
+     */
+    @Override
+    public int child(int node, char letter){
+        int index = index(letter);
+        if(index < 0){
+            return -1;
+        }
+        int bit = 1 << index;
+        int mask = this.masks[node];
+        if((mask & bit) == 0){
+            return -1;
+        }
+        return this.edges[this.firstEdge[node] +
+                Integer.bitCount(mask & (bit - 1))];
+    }
+
+    /**
+     * Walks from the root through the letters of a word.
+     * @param word word to walk
+     * @return last node reached or -1 if the word fell off the dictionary
+     */
+    private int walk(String word){
+        int node = this.root;
+        for(int i = 0; i < word.length() && node >= 0; i++){
+            node = this.child(node, Character.toLowerCase(word.charAt(i)));
+        }
+        return node;
+    }
+
+    /**
+     * Searches for a full word in the dictionary.
+     * @param word word to search for
+     * @return true or false
+     */
+    @Override
+    public boolean search(String word){
+        int node = this.walk(word);
+        return node >= 0 && (this.masks[node] & LEAF) != 0;
+    }
+
+    /**
+     * Searches for a partial word.
+     * @param partial partial word to be checked
+     * @return true or false if partial is in the dictionary or not
+     */
+    @Override
+    public boolean searchPartial(String partial){
+
+        return this.walk(partial) >= 0;
+    }
+
+    /**
+     * Returns the possible next letter for a given node. Like the Trie it
+     * stops at the last letter it can follow.
+     * @param partialWord word to get to node
+     * @return set of possible next characters
+     */
+    @Override
+    public Set<Character> getNodeKeys(String partialWord){
+        int node = this.root;
+        for(int i = 0; i < partialWord.length(); i++){
+            int next = this.child(node,
+                    Character.toLowerCase(partialWord.charAt(i)));
+            if(next < 0){
+                break;
+            }
+            node = next;
+        }
+        Set<Character> keys = new LinkedHashSet<>();
+        int mask = this.masks[node] & ~LEAF;
+        while(mask != 0){
+            int index = Integer.numberOfTrailingZeros(mask);
+            keys.add((char) ('a' + index));
+            mask &= mask - 1;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the number of nodes in the dictionary.
+     * @return node count
+     */
+    protected int getNodeCount(){
+
+        return this.nodeCount;
+    }
+
+    /**
+     * Returns the number of edges in the dictionary.
+     * @return edge count
+     */
+    protected int getEdgeCount(){
+
+        return this.edgeCount;
+    }
+
+    /**
+     * Returns the child mask and leaf bit of each node.
+     * @return node masks, at least getNodeCount long
+     */
+    protected int[] getMasks(){
+
+        return this.masks;
+    }
+
+    /**
+     * Returns the index of the first child of each node in the edges.
+     * @return first edge of each node, at least getNodeCount long
+     */
+    protected int[] getFirstEdges(){
+
+        return this.firstEdge;
+    }
+
+    /**
+     * Returns the child node of each edge.
+     * @return edges, at least getEdgeCount long
+     */
+    protected int[] getEdges(){
+
+        return this.edges;
+    }
+
+    /**
+     * Returns the number of bytes held by the node and edge arrays.
+     * @return size in bytes
+     */
+    protected long getByteSize(){
+
+        return 4L * (this.masks.length + this.firstEdge.length +
+                this.edges.length);
+    }
+
+    /**
+     * Releases the spare room left at the end of the arrays after a build.
+     */
+    private void trim(){
+        this.masks = Arrays.copyOf(this.masks, this.nodeCount);
+        this.firstEdge = Arrays.copyOf(this.firstEdge, this.nodeCount);
+        this.edges = Arrays.copyOf(this.edges, this.edgeCount);
+    }
+}
@@ -2,7 +2,8 @@ package scrabble;
 
 
 import java.io.IOException;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * ComputerPlayer class has methods and constructor for computer player.
@@ -13,8 +14,16 @@ public class ComputerPlayer{
 
 
     private Solver solver;
+    private DictionaryHandle handle;
+    private Gaddag gaddag;
     private Board board;
     private Tray tray;
+    private BoardState state;
+    private volatile Solver ahead;
+    private volatile MoveList movesAhead;
+    private Future<?> thinking;
+    private Simulation simulation;
+    private long budget;
 
     /**
      * Computer Player constructor makes a new computer player.
@@ -23,12 +32,52 @@ public class ComputerPlayer{
      * @param board reference to board
      * @param tray reference to tray
      */
-    public ComputerPlayer(Trie tree, Board board, Tray tray){
-        this.solver = new Solver(tree);
+    public ComputerPlayer(Dictionary tree, Board board, Tray tray){
+        this(tree, null, board, tray);
+    }
+
+    /**
+     * Computer Player constructor makes a new computer player whose solver
+     * finds its moves with a GADDAG. If the GADDAG is null the solver
+     * builds words left to right like normal.
+     * @param tree reference to dictionary
+     * @param gaddag GADDAG of the dictionary or null
+     * @param board reference to board
+     * @param tray reference to tray
+     */
+    public ComputerPlayer(Dictionary tree, Gaddag gaddag, Board board,
+                          Tray tray){
+        this(DictionaryHandle.of(tree), gaddag, board, tray);
+    }
+
+    /**
+     * Computer Player constructor makes a new computer player with a
+     * dictionary from a registry. The player keeps the handle and asks it
+     * for the dictionary once each move, so the registry can let go of
+     * the dictionary between moves.
+     * @param handle handle of the dictionary
+     * @param gaddag GADDAG of the dictionary or null
+     * @param board reference to board
+     * @param tray reference to tray
+     */
+    public ComputerPlayer(DictionaryHandle handle, Gaddag gaddag,
+                          Board board, Tray tray){
+        this.handle = handle;
+        this.solver = new Solver(handle, gaddag);
+        this.gaddag = gaddag;
         this.board = board;
         this.tray = tray;
+        this.state = new BoardState(board, handle);
+        this.solver.setBoardState(this.state);
         this.board.getBag().fillTray(this.tray);
+    }
 
+    /**
+     * Makes another solver with the same dictionary as the player's.
+     * @return new solver
+     */
+    private Solver newSolver(){
+        return new Solver(this.handle, this.gaddag);
     }
 
     /**
@@ -49,33 +98,186 @@ public class ComputerPlayer{
     }
 
     /**
-     * Subtracts from the computers current score.
-     * @param points to subtract
+     * Returns the computers score.
+     * @return score
+     */
+    protected Score getScore(){
+
+        return this.solver.getScore();
+    }
+
+    /**
+     * Tells the computer which cells just had tiles placed in them so it
+     * can update its anchors and cross checks. Must be called after every
+     * move that changes the board, the human's and the computer's own.
+     * @param placed cells that had tiles placed in them
+     */
+    protected void boardChanged(List<BoardCell> placed){
+        this.stopThinkingAhead();
+        this.state.update(placed);
+    }
+
+    /**
+     * Starts finding every move the computer could make on the board as it
+     * is, while the human works out their move. When the human plays, only
+     * the rows and columns their tiles changed have to be solved again.
+     * Must be called from the thread that changes the board, before the
+     * human's tiles are on it. Thinking ahead has the same time budget as
+     * a move.
+     * @param executor where the moves are found
+     */
+    protected void thinkAhead(ExecutorService executor){
+        this.stopThinkingAhead();
+        this.state.clearChanges();
+        Board snapshot = this.board.copyBoard();
+        Tray trayCopy = this.tray.copyTray();
+        Solver solver = this.newSolver();
+        solver.setTimeBudget(this.budget);
+        solver.setBoardState(this.state);
+        List<BoardCell> anchors = new ArrayList<>();
+        for(BoardCell anchor: this.state.getAnchors()){
+            anchors.add(snapshot.getCell(anchor.getXCell(),
+                    anchor.getYCell()));
+        }
+        solver.setBoardAnchors(anchors);
+        this.ahead = solver;
+        this.thinking = executor.submit(() -> {
+            MoveList moves = new MoveList();
+            solver.setAllMoves(moves);
+            solver.solve(snapshot, trayCopy);
+            if(solver.isCompleted()){
+                this.movesAhead = moves;
+            }
+        });
+    }
+
+    /**
+     * Tells the search for moves ahead to stop, from any thread, without
+     * waiting for it. Moves found ahead are kept if the search had already
+     * finished. Must be called before the computer's move is handed to the
+     * thread thinking ahead, so the move isn't queued behind the search.
+     */
+    protected void cancelThinkingAhead(){
+        Solver solver = this.ahead;
+        if(solver != null){
+            solver.cancel();
+        }
+    }
+
+    /**
+     * Stops finding moves ahead and waits for it to stop, so the board
+     * state can be changed. Moves found ahead are kept if the search had
+     * already finished.
+     */
+    private void stopThinkingAhead(){
+        if(this.thinking == null){
+            return;
+        }
+        this.cancelThinkingAhead();
+        try{
+            this.thinking.get();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }catch(ExecutionException e){
+            this.movesAhead = null;
+        }
+        this.thinking = null;
+        this.ahead = null;
+    }
+
+    /**
+     * Gives each move the computer makes a time budget, after which it
+     * plays the best word found so far. Thinking ahead gets the same budget.
+     * @param millis time budget in milliseconds, or 0 to search everything
+     */
+    protected void setTimeBudget(long millis){
+        this.budget = millis;
+        this.solver.setTimeBudget(millis);
+    }
+
+    /**
+     * Has the computer pick its moves by playing out its best scoring moves
+     * against random racks of the tiles it hasn't seen, instead of always
+     * playing the best scoring move.
+     * @param candidates number of the best scoring moves played out
+     * @param millis time budget of the rollouts in milliseconds
+     * @param workers number of rollouts played at once
+     */
+    protected void setSimulation(int candidates, long millis, int workers){
+        if(this.simulation != null){
+            this.simulation.shutdown();
+        }
+        this.simulation = new Simulation(this.handle, this.gaddag,
+                candidates, millis, workers);
+    }
+
+    /**
+     * Checks if the last move was found by searching the whole board
+     * rather than being cut short by the time budget.
+     * @return true if the search finished
+     */
+    protected boolean isCompleted(){
+
+        return this.solver.isCompleted();
+    }
+
+    /**
+     * Stops the move the computer is working out, and any thinking ahead,
+     * from any thread. The computer plays the best word it found before it
+     * was stopped.
      */
-    protected void subtract(int points){
-        this.solver.getScore().subtractFromScore(points);
+    protected void cancel(){
+        this.cancelThinkingAhead();
+        this.solver.cancel();
+        if(this.simulation != null){
+            this.simulation.cancel();
+        }
     }
 
     /**
-     * Adds to the humans score.
-     * @param points to add
+     * Stops the computer for good, from any thread, along with the threads
+     * its simulation plays rollouts on.
      */
-    protected void addToScore(int points){
-        this.solver.getScore().addToScore(points);
+    protected void shutdown(){
+        this.cancel();
+        if(this.simulation != null){
+            this.simulation.shutdown();
+        }
     }
 
     /**
-     * Calls the solver to make the move for the computer.
+     * Lets the computer work out a move again after it was stopped. Must be
+     * called when its turn is handed over, before the Stop button can be
+     * pressed for that turn.
+     */
+    protected void resetCancel(){
+        this.solver.resetCancel();
+        if(this.simulation != null){
+            this.simulation.resetCancel();
+        }
+    }
+
+    /**
+     * Calls the solver to make the move for the computer. Any thinking
+     * ahead is stopped first, keeping its moves if it had finished.
      * @return List of cells to be replaced on the board
      * @throws IOException because of input
      */
     public List<BoardCell> makeMove() throws IOException {
+        this.stopThinkingAhead();
         this.solver.getScore().setHighScore(0);
         this.solver.getScore().setHighScoreWord(null);
         this.solver.getScore().setWordToPlay(null);
-        solver.setBoardAnchors(solver.findAnchors(this.board));
-        solver.setBoardCopy(this.board.copyBoard(this.board.toString()));
-        solver.solve(this.board, this.tray);
+        MoveList moves = this.movesAhead;
+        this.movesAhead = null;
+        if(this.simulation != null){
+            this.simulate(moves);
+        }else if(moves != null){
+            this.replyFrom(moves);
+        }else{
+            solver.setBoardAnchors(this.state.getAnchors());
+            solver.solve(this.board, this.tray);
+        }
         this.solver.getScore().addToScore(solver.getScore().getWordHighScore());
         if(solver.getScore().getWordToPlay() != null){
             this.board.getBag().fillTray(this.tray);
@@ -84,4 +286,97 @@ public class ComputerPlayer{
 
         return null;
     }
+
+    /**
+     * Finds the best move using the moves found ahead. Moves across rows
+     * and down columns the human's move didn't change are still the same,
+     * so only the anchors in changed rows and columns are solved again and
+     * the best of both is played.
+     * @param moves every move found before the human played
+     */
+    private void replyFrom(MoveList moves){
+        Score score = this.solver.getScore();
+        List<BoardCell> anchors = new ArrayList<>();
+        for(BoardCell anchor: this.state.getAnchors()){
+            if(this.state.rowChanged(anchor.getYCell()) ||
+                    this.state.colChanged(anchor.getXCell())){
+                anchors.add(anchor);
+            }
+        }
+        Move best = null;
+        if(!anchors.isEmpty()){
+            this.solver.setBoardAnchors(anchors);
+            this.solver.solve(this.board, this.tray.copyTray());
+            if(score.getWordToPlay() != null){
+                best = Move.of(score.getHighScoreWord(),
+                        score.getWordToPlay(), score.getWordHighScore());
+            }
+        }
+        for(int i = 0; i < moves.size(); i++){
+            if(best != null && moves.getScore(i) < best.getScore()){
+                continue;
+            }
+            Move move = moves.get(i);
+            boolean changed = move.isAcross() ?
+                    this.state.rowChanged(move.getY()) :
+                    this.state.colChanged(move.getX());
+            if(changed){
+                continue;
+            }
+            if(best == null || move.getScore() > best.getScore() ||
+                    move.getWord().compareTo(best.getWord()) < 0){
+                best = move;
+            }
+        }
+        score.setHighScoreWord(null);
+        score.setWordToPlay(null);
+        if(best != null){
+            score.setHighScore(best.getScore());
+            score.setWordToPlay(best.toPlacedCells(this.board, this.tray));
+        }
+    }
+
+    /**
+     * Finds every move on the board, taking the moves in unchanged rows and
+     * columns from the moves found ahead if there are any, and has the
+     * simulation pick which one to play.
+     * @param ahead every move found before the human played or null
+     */
+    private void simulate(MoveList ahead){
+        Score score = this.solver.getScore();
+        MoveList moves = new MoveList();
+        List<BoardCell> anchors = this.state.getAnchors();
+        if(ahead != null){
+            anchors = new ArrayList<>();
+            for(BoardCell anchor: this.state.getAnchors()){
+                if(this.state.rowChanged(anchor.getYCell()) ||
+                        this.state.colChanged(anchor.getXCell())){
+                    anchors.add(anchor);
+                }
+            }
+            for(int i = 0; i < ahead.size(); i++){
+                Move move = ahead.get(i);
+                boolean changed = move.isAcross() ?
+                        this.state.rowChanged(move.getY()) :
+                        this.state.colChanged(move.getX());
+                if(!changed){
+                    moves.add(ahead, i);
+                }
+            }
+        }
+        if(!anchors.isEmpty()){
+            this.solver.setAllMoves(moves);
+            this.solver.setBoardAnchors(anchors);
+            this.solver.solve(this.board, this.tray.copyTray());
+            this.solver.setAllMoves(null);
+        }
+        Move best = this.simulation.choose(this.board, this.tray, moves);
+        score.setHighScoreWord(null);
+        score.setWordToPlay(null);
+        score.setHighScore(0);
+        if(best != null){
+            score.setHighScore(best.getScore());
+            score.setWordToPlay(best.toPlacedCells(this.board, this.tray));
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package scrabble;
+
+/**
+ * CrossChecks class works out, for every empty cell on a board, which
+ * letters can be placed there without making a cross word that is not in
+ * the dictionary. There is one table for words built across and one for
+ * words built down. The points of the cross words are kept by ScoreGrid.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class CrossChecks {
+
+    protected static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final int ACROSS = 0;
+    private static final int DOWN = 1;
+
+    private BoardCell[][] grid;
+    private int rows;
+    private int cols;
+    private int[][] masks;
+
+    /**
+     * CrossChecks constructor works out the letter masks of every empty
+     * cell on the board.
+     * @param board board being solved
+     * @param tree dictionary
+     */
+    public CrossChecks(Board board, Dictionary tree){
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.grid = new BoardCell[this.rows][this.cols];
+        this.masks = new int[2][this.rows * this.cols];
+        for(BoardCell cell: board.getBoard()){
+            this.grid[cell.getYCell()][cell.getXCell()] = cell;
+        }
+        for(int y = 0; y < this.rows; y++){
+            for(int x = 0; x < this.cols; x++){
+                this.updateCell(tree, x, y);
+            }
+        }
+    }
+
+    /**
+     * Returns the table for words built in a direction.
+     * @param buildDirection direction the main word is built in
+     * @return table index
+     */
+    private static int table(Direction buildDirection){
+        if(buildDirection == Direction.DOWN ||
+                buildDirection == Direction.UP){
+            return DOWN;
+        }
+        return ACROSS;
+    }
+
+    /**
+     * Returns the letters that can be placed in a cell, bit 0 for a up to
+     * bit 25 for z. Cells that already have a tile allow nothing.
+     * @param x x coord
+     * @param y y coord
+     * @param buildDirection direction the main word is built in
+     * @return letter mask
+     */
+    protected int getMask(int x, int y, Direction buildDirection){
+
+        return this.masks[table(buildDirection)][y * this.cols + x];
+    }
+
+    /**
+     * Works out the masks of a cell for both tables. The dictionary isn't
+     * kept, so the caller can let go of it between updates.
+     * @param tree dictionary
+     * @param x x coord
+     * @param y y coord
+     */
+    protected void updateCell(Dictionary tree, int x, int y){
+        int index = y * this.cols + x;
+        if(this.grid[y][x].hasTile()){
+            this.masks[ACROSS][index] = 0;
+            this.masks[DOWN][index] = 0;
+            return;
+        }
+        this.updateTable(tree, ACROSS, x, y, 0, 1);
+        this.updateTable(tree, DOWN, x, y, 1, 0);
+    }
+
+    /**
+     * Works out the mask of an empty cell for one table. The letters
+     * before the cell take the dictionary to a node, then each child letter
+     * of that node is followed through the letters after the cell.
+     * @param tree dictionary
+     * @param table table index
+     * @param x x coord
+     * @param y y coord
+     * @param dx x step of the cross word
+     * @param dy y step of the cross word
+     */
+    private void updateTable(Dictionary tree, int table, int x, int y,
+                             int dx, int dy){
+        int index = y * this.cols + x;
+        int startX = x;
+        int startY = y;
+        while(this.hasTile(startX - dx, startY - dy)){
+            startX -= dx;
+            startY -= dy;
+        }
+        if(startX == x && startY == y && !this.hasTile(x + dx, y + dy)){
+            this.masks[table][index] = ALL_LETTERS;
+            return;
+        }
+        int node = tree.getRoot();
+        for(int cx = startX, cy = startY; node >= 0 && (cx != x || cy != y);
+            cx += dx, cy += dy){
+            node = tree.child(node, letterOf(this.grid[cy][cx].getTile()));
+        }
+        int mask = 0;
+        int letters = node >= 0 ? tree.getChildMask(node) &
+                ALL_LETTERS : 0;
+        while(letters != 0){
+            int letter = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int next = tree.child(node, (char) ('a' + letter));
+            int cx = x + dx;
+            int cy = y + dy;
+            while(next >= 0 && this.hasTile(cx, cy)){
+                next = tree.child(next,
+                        letterOf(this.grid[cy][cx].getTile()));
+                cx += dx;
+                cy += dy;
+            }
+            if(next >= 0 && tree.isLeaf(next)){
+                mask |= 1 << letter;
+            }
+        }
+        this.masks[table][index] = mask;
+    }
+
+    /**
+     * Checks if a cell is on the board and has a tile.
+     * @param x x coord
+     * @param y y coord
+     * @return true or false
+     */
+    private boolean hasTile(int x, int y){
+        return x >= 0 && y >= 0 && x < this.cols && y < this.rows &&
+                this.grid[y][x].hasTile();
+    }
+
+    /**
+     * Returns the lower case letter on a tile.
+     * @param tile tile
+     * @return letter
+     */
+    private static char letterOf(Tile tile){
+
+        return Character.toLowerCase(tile.getLetter().charAt(0));
+    }
+}
@@ -0,0 +1,168 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * DawgBuilder class turns a sorted word list into a minimized directed
+ * acyclic word graph. Words are added in order and every node that can no
+ * longer change is looked up in a register of finished nodes, so any two
+ * nodes with the same leaf flag and the same children become one node.
+ * That shares common endings like "ing" and "ness" between words. The graph
+ * is handed back as a CompactTrie so the solver walks it like any other
+ * dictionary.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class DawgBuilder {
+
+    private Map<NodeKey, Integer> register = new HashMap<>();
+    private int[] masks = new int[1024];
+    private int[] firstEdge = new int[1024];
+    private int[] edges = new int[1024];
+    private int nodeCount = 0;
+    private int edgeCount = 0;
+
+    /**
+     * Builds a minimized graph from the words in a dictionary file.
+     * @param file file name
+     * @return graph as a dictionary
+     */
+    public static CompactTrie build(String file){
+
+        return build(Trie.readSortedWords(file));
+    }
+
+    /**
+     * Builds a minimized graph from lower case words sorted alphabetically
+     * without duplicates.
+     * @param sortedWords sorted words
+     * @return graph as a dictionary
+     */
+    public static CompactTrie build(List<String> sortedWords){
+
+        return new DawgBuilder().buildGraph(sortedWords);
+    }
+
+    /**
+     * Adds each word and registers the nodes as they are finished.
+     * @param sortedWords sorted words
+     * @return graph as a dictionary
+     */
+    private CompactTrie buildGraph(List<String> sortedWords){
+        int maxLength = 1;
+        for(String word: sortedWords){
+            maxLength = Math.max(maxLength, word.length());
+        }
+        int[] pathMasks = new int[maxLength + 1];
+        int[][] children = new int[maxLength + 1][CompactTrie.LETTERS];
+        int[] childCount = new int[maxLength + 1];
+        String previous = "";
+
+        for(String word: sortedWords){
+            if(word.compareTo(previous) <= 0 && !previous.isEmpty()){
+                throw new IllegalArgumentException("Words are not sorted: " +
+                        previous + " then " + word);
+            }
+            int common = 0;
+            int limit = Math.min(word.length(), previous.length());
+            while(common < limit && word.charAt(common) ==
+                    previous.charAt(common)){
+                common++;
+            }
+            for(int depth = previous.length(); depth > common; depth--){
+                int node = this.finish(pathMasks[depth], children[depth],
+                        childCount[depth]);
+                children[depth - 1][childCount[depth - 1] - 1] = node;
+            }
+            for(int depth = common; depth < word.length(); depth++){
+                int letter = CompactTrie.index(word.charAt(depth));
+                pathMasks[depth] |= 1 << letter;
+                childCount[depth]++;
+                pathMasks[depth + 1] = 0;
+                childCount[depth + 1] = 0;
+            }
+            pathMasks[word.length()] |= CompactTrie.LEAF;
+            previous = word;
+        }
+        for(int depth = previous.length(); depth > 0; depth--){
+            int node = this.finish(pathMasks[depth], children[depth],
+                    childCount[depth]);
+            children[depth - 1][childCount[depth - 1] - 1] = node;
+        }
+        int root = this.finish(pathMasks[0], children[0], childCount[0]);
+
+        return new CompactTrie(root, Arrays.copyOf(this.masks, this.nodeCount),
+                Arrays.copyOf(this.firstEdge, this.nodeCount),
+                Arrays.copyOf(this.edges, this.edgeCount), this.nodeCount,
+                this.edgeCount);
+    }
+
+    /**
+     * Finishes a node whose children can no longer change. If an equal node
+     * was already finished that node is used instead.
+     * @param mask child mask and leaf bit
+     * @param children finished child nodes in letter order
+     * @param count number of children
+     * @return id of the node in the graph
+     */
+    private int finish(int mask, int[] children, int count){
+        NodeKey key = new NodeKey(mask, Arrays.copyOf(children, count));
+        Integer existing = this.register.get(key);
+        if(existing != null){
+            return existing;
+        }
+        if(this.nodeCount == this.masks.length){
+            this.masks = Arrays.copyOf(this.masks, this.nodeCount * 2);
+            this.firstEdge = Arrays.copyOf(this.firstEdge,
+                    this.nodeCount * 2);
+        }
+        if(this.edgeCount + count > this.edges.length){
+            this.edges = Arrays.copyOf(this.edges,
+                    Math.max(this.edges.length * 2, this.edgeCount + count));
+        }
+        int node = this.nodeCount++;
+        this.masks[node] = mask;
+        this.firstEdge[node] = this.edgeCount;
+        System.arraycopy(children, 0, this.edges, this.edgeCount, count);
+        this.edgeCount += count;
+        this.register.put(key, node);
+        return node;
+    }
+
+    /**
+     * NodeKey class is the register key of a finished node, its mask and
+     * the ids of its children.
+     */
+    private static class NodeKey {
+
+        private final int mask;
+        private final int[] children;
+        private final int hash;
+
+        /**
+         * NodeKey constructor makes a new key.
+         * @param mask child mask and leaf bit
+         * @param children child ids in letter order
+         */
+        NodeKey(int mask, int[] children){
+            this.mask = mask;
+            this.children = children;
+            this.hash = 31 * mask + Arrays.hashCode(children);
+        }
+
+        @Override
+        public boolean equals(Object other){
+            if(!(other instanceof NodeKey)){
+                return false;
+            }
+            NodeKey key = (NodeKey) other;
+            return this.mask == key.mask &&
+                    Arrays.equals(this.children, key.children);
+        }
+
+        @Override
+        public int hashCode(){
+
+            return this.hash;
+        }
+    }
+}
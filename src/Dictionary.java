@@ -0,0 +1,63 @@
+package scrabble;
+import java.util.Set;
+
+/**
+ * Dictionary interface contains the lookups the solver and players use
+ * to check words against a word list. Besides whole word lookups it hands
+ * out int node handles so a caller can step through the dictionary one
+ * letter at a time instead of searching from the root for every letter.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public interface Dictionary {
+
+    /**
+     * Searches for a full word in the dictionary.
+     * @param word word to search for
+     * @return true or false
+     */
+    boolean search(String word);
+
+    /**
+     * Searches for a partial word.
+     * @param partial partial word to be checked
+     * @return true or false if partial is in the dictionary or not
+     */
+    boolean searchPartial(String partial);
+
+    /**
+     * Returns the possible next letter for a given partial word.
+     * @param partialWord word to get to node
+     * @return set of possible next characters
+     */
+    Set<Character> getNodeKeys(String partialWord);
+
+    /**
+     * Returns the root node, the node of the empty word.
+     * @return root node
+     */
+    int getRoot();
+
+    /**
+     * Returns the child of a node for a letter.
+     * @param node parent node
+     * @param letter lower case letter
+     * @return child node or -1 if there is none
+     */
+    int child(int node, char letter);
+
+    /**
+     * Checks if a node ends a word.
+     * @param node node to check
+     * @return true or false
+     */
+    boolean isLeaf(int node);
+
+    /**
+     * Returns the letters a node has children for, bit 0 for a up to bit 25
+     * for z.
+     * @param node node to check
+     * @return child mask
+     */
+    int getChildMask(int node);
+}
@@ -0,0 +1,157 @@
+package scrabble;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * DictionaryBenchmark class compares how many nodes and how much memory
+ * each dictionary implementation keeps, how long it takes to build and how
+ * fast its lookups are on the bundled word lists. The alloc column shows
+ * how much was allocated while building, garbage included. Run it with a
+ * fixed heap so the numbers can be compared, ex:
+ * java -Xmx2g -cp solver.jar scrabble.DictionaryBenchmark
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class DictionaryBenchmark {
+
+    private static final String[] WORD_LISTS = {"enable.txt", "twl06.txt",
+            "sowpods.txt"};
+    private static final int LOOKUP_ROUNDS = 5;
+
+    /**
+     * Returns the heap in use after asking the garbage collector to run.
+     * @return used bytes
+     */
+    private static long usedMemory(){
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for(int i = 0; i < 5; i++){
+            System.gc();
+            used = Math.min(used,
+                    runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /**
+     * Returns the bytes allocated by this thread so far.
+     * @return allocated bytes
+     */
+    private static long allocatedBytes(){
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean)
+                        ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(
+                Thread.currentThread().getId());
+    }
+
+    /**
+     * Makes the words to look up. Each word is followed by a copy with its
+     * last letter changed so about half the lookups miss.
+     * @param words sorted words
+     * @return words to look up
+     */
+    private static List<String> lookupWords(List<String> words){
+        List<String> lookups = new ArrayList<>(words.size() * 2);
+        for(String word: words){
+            lookups.add(word);
+            char last = word.charAt(word.length() - 1);
+            char changed = last == 'z' ? 'a' : (char) (last + 1);
+            lookups.add(word.substring(0, word.length() - 1) + changed);
+        }
+        Collections.shuffle(lookups, new Random(42));
+        return lookups;
+    }
+
+    /**
+     * Builds a dictionary and prints its node count, build time, bytes
+     * allocated by the build, retained heap and lookup speed.
+     * @param name name of the implementation
+     * @param file word list
+     * @param lookups words to look up
+     * @param builder makes the dictionary from the file name
+     */
+    private static void measure(String name, String file,
+                                List<String> lookups,
+                                Function<String, Dictionary> builder){
+        long before = usedMemory();
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        Dictionary dictionary;
+        try{
+            dictionary = builder.apply(file);
+        }catch(IllegalArgumentException e){
+            System.out.printf("%-12s %-12s %s%n", file, name,
+                    e.getMessage());
+            return;
+        }
+        long buildNanos = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+        long retained = usedMemory() - before;
+
+        int found = 0;
+        long bestSearch = Long.MAX_VALUE;
+        long bestPartial = Long.MAX_VALUE;
+        for(int round = 0; round < LOOKUP_ROUNDS; round++){
+            found = 0;
+            start = System.nanoTime();
+            for(String word: lookups){
+                if(dictionary.search(word)){
+                    found++;
+                }
+            }
+            bestSearch = Math.min(bestSearch, System.nanoTime() - start);
+            start = System.nanoTime();
+            for(String word: lookups){
+                if(dictionary.searchPartial(word)){
+                    found++;
+                }
+            }
+            bestPartial = Math.min(bestPartial, System.nanoTime() - start);
+        }
+        int nodes = 0;
+        if(dictionary instanceof Trie){
+            nodes = ((Trie) dictionary).getNodeCount();
+        }else if(dictionary instanceof CompactTrie){
+            nodes = ((CompactTrie) dictionary).getNodeCount();
+        }
+        System.out.printf("%-12s %-12s %9d %9d %10.1f %10.1f %10.1f " +
+                        "%11.1f %6d%n", file, name, nodes,
+                buildNanos / 1000000, allocated / (1024.0 * 1024.0),
+                retained / (1024.0 * 1024.0),
+                (double) bestSearch / lookups.size(),
+                (double) bestPartial / lookups.size(), found);
+    }
+
+    /**
+     * Returns the dictionary implementations to compare.
+     * @return name of each implementation mapped to how it is built
+     */
+    private static Map<String, Function<String, Dictionary>> builders(){
+        Map<String, Function<String, Dictionary>> builders =
+                new LinkedHashMap<>();
+        builders.put("Trie", Trie::new);
+        builders.put("Trie sorted", file -> new Trie(file, true));
+        builders.put("CompactTrie", CompactTrie::new);
+        builders.put("DAWG", DawgBuilder::build);
+        return builders;
+    }
+
+    /**
+     * Main runs the benchmark on each bundled word list.
+     * @param args command line arguments, not used
+     */
+    public static void main(String[] args){
+        System.out.printf("%-12s %-12s %9s %9s %10s %10s %10s %11s %6s%n",
+                "list", "dictionary", "nodes", "build ms", "alloc MB",
+                "heap MB", "search ns", "partial ns", "hits");
+        for(String file: WORD_LISTS){
+            List<String> lookups = lookupWords(Trie.readSortedWords(file));
+            for(Map.Entry<String, Function<String, Dictionary>> entry:
+                    builders().entrySet()){
+                measure(entry.getKey(), file, lookups, entry.getValue());
+            }
+        }
+    }
+}
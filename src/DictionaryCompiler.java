@@ -0,0 +1,71 @@
+package scrabble;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * DictionaryCompiler class turns a word list into the binary file read by
+ * the MappedDictionary, so the solver doesn't have to read and build the
+ * dictionary every time it starts. The words are minimized into a DAWG
+ * first. A GADDAG of the same words can be compiled at the same time, ex:
+ * java -cp solver.jar scrabble.DictionaryCompiler sowpods.txt sowpods.dict
+ * sowpods.gaddag
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class DictionaryCompiler {
+
+    /**
+     * Compiles a list of words into a file.
+     * @param sortedWords sorted words
+     * @param file file written
+     * @throws IOException if the file can't be written
+     */
+    protected static void compile(List<String> sortedWords, Path file)
+            throws IOException {
+        write(DawgBuilder.build(sortedWords), file);
+    }
+
+    /**
+     * Compiles the GADDAG of a list of words into a file.
+     * @param words words
+     * @param file file written
+     * @throws IOException if the file can't be written
+     */
+    protected static void compileGaddag(List<String> words, Path file)
+            throws IOException {
+        write(DawgBuilder.build(Gaddag.paths(words)), file);
+    }
+
+    /**
+     * Writes a graph and prints its size.
+     * @param graph graph to write
+     * @param file file written
+     * @throws IOException if the file can't be written
+     */
+    private static void write(CompactTrie graph, Path file)
+            throws IOException {
+        MappedDictionary.write(graph, file);
+        System.out.printf("%s: %d nodes, %d edges, %d KB%n", file,
+                graph.getNodeCount(), graph.getEdgeCount(),
+                Files.size(file) / 1024);
+    }
+
+    /**
+     * Main compiles the word list named first into the file named second,
+     * and into a GADDAG file if a third is given.
+     * @param args word list, dictionary file and optional GADDAG file
+     * @throws IOException if a file can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2){
+            System.out.println("Need a word list and an output file!");
+            return;
+        }
+        List<String> words = Trie.readSortedWords(args[0]);
+        compile(words, Paths.get(args[1]));
+        if(args.length > 2){
+            compileGaddag(words, Paths.get(args[2]));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package scrabble;
+
+/**
+ * DictionaryHandle class stands for one of the lists in a
+ * DictionaryRegistry. A handle never changes and can be shared between
+ * threads. The dictionary behind it is loaded the first time it is asked
+ * for. A dictionary that was loaded on its own can be given a handle too,
+ * which always hands out that dictionary, so solvers and players only
+ * need to work with handles.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public final class DictionaryHandle {
+
+    private final DictionaryRegistry registry;
+    private final String name;
+    private final Dictionary dictionary;
+
+    /**
+     * DictionaryHandle constructor.
+     * @param registry registry the handle belongs to
+     * @param name name of the list
+     */
+    DictionaryHandle(DictionaryRegistry registry, String name){
+        this.registry = registry;
+        this.name = name;
+        this.dictionary = null;
+    }
+
+    /**
+     * DictionaryHandle constructor for a dictionary that isn't in a
+     * registry.
+     * @param dictionary dictionary
+     */
+    private DictionaryHandle(Dictionary dictionary){
+        this.registry = null;
+        this.name = null;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns a handle that always hands out the same dictionary.
+     * @param dictionary dictionary loaded on its own
+     * @return handle
+     */
+    public static DictionaryHandle of(Dictionary dictionary){
+
+        return new DictionaryHandle(dictionary);
+    }
+
+    /**
+     * Returns the name of the list.
+     * @return name, or null if the dictionary isn't from a registry
+     */
+    public String getName(){
+
+        return this.name;
+    }
+
+    /**
+     * Returns the dictionary, loading it if it is from a registry and isn't
+     * loaded yet.
+     * @return dictionary
+     */
+    public Dictionary getDictionary(){
+        if(this.registry == null){
+            return this.dictionary;
+        }
+        return this.registry.load(this);
+    }
+
+    /**
+     * Returns the name of the list.
+     * @return name
+     */
+    @Override
+    public String toString(){
+
+        return this.name != null ? this.name : "dictionary";
+    }
+}
@@ -0,0 +1,215 @@
+package scrabble;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * DictionaryRegistry class loads each bundled word list once and hands out
+ * handles to it. A list isn't loaded until a handle is first used, and
+ * every solver and player using the same name gets the same dictionary.
+ * When the dictionaries loaded add up to more than the memory cap, the
+ * ones used longest ago are let go and loaded again the next time they are
+ * asked for. Anyone still holding a dictionary that was let go can keep
+ * using it since dictionaries never change once they are built.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class DictionaryRegistry {
+
+    public static final long NO_CAP = Long.MAX_VALUE;
+    public static final String CAP_PROPERTY = "scrabble.dictionary.cap.mb";
+    protected static final String[] NAMES = {"enable", "twl06", "sowpods",
+            "animals"};
+    private static final String EXTENSION = ".txt";
+    private static final long TRIE_NODE_BYTES = 170;
+
+    private static DictionaryRegistry shared;
+
+    private Function<String, Dictionary> loader;
+    private long memoryCap;
+    private Map<String, DictionaryHandle> handles = new HashMap<>();
+    private LinkedHashMap<String, Dictionary> loaded =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private Map<String, Long> sizes = new HashMap<>();
+    private long loadedBytes;
+    private Map<String, Object> loadLocks = new HashMap<>();
+
+    /**
+     * DictionaryRegistry constructor makes a registry that loads each list
+     * into a Trie.
+     * @param memoryCap bytes the loaded dictionaries can use before old
+     *                  ones are let go
+     */
+    public DictionaryRegistry(long memoryCap){
+
+        this(memoryCap, Trie::new);
+    }
+
+    /**
+     * DictionaryRegistry constructor makes a registry with its own way of
+     * loading a list.
+     * @param memoryCap bytes the loaded dictionaries can use before old
+     *                  ones are let go
+     * @param loader makes a dictionary from a file name
+     */
+    public DictionaryRegistry(long memoryCap,
+                              Function<String, Dictionary> loader){
+        this.memoryCap = memoryCap;
+        this.loader = loader;
+        for(String name: NAMES){
+            this.handles.put(name, new DictionaryHandle(this, name));
+        }
+    }
+
+    /**
+     * Returns the registry shared by the whole program. Its cap in
+     * megabytes can be set with the scrabble.dictionary.cap.mb system
+     * property and there is no cap otherwise.
+     * @return shared registry
+     */
+    public static synchronized DictionaryRegistry getShared(){
+        if(shared == null){
+            String cap = System.getProperty(CAP_PROPERTY);
+            shared = new DictionaryRegistry(cap == null ? NO_CAP :
+                    Long.parseLong(cap) * 1024 * 1024);
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the name of a list without its file extension.
+     * @param name name or file name of the list
+     * @return name
+     */
+    private static String baseName(String name){
+        if(name.endsWith(EXTENSION)){
+            return name.substring(0, name.length() - EXTENSION.length());
+        }
+        return name;
+    }
+
+    /**
+     * Checks if the registry has a list by this name.
+     * @param name name or file name of the list
+     * @return true or false
+     */
+    public boolean contains(String name){
+
+        return this.handles.containsKey(baseName(name));
+    }
+
+    /**
+     * Returns the handle for a list. Nothing is loaded until the handle is
+     * used.
+     * @param name name or file name of the list, e.g. sowpods
+     * @return handle
+     * @throws IllegalArgumentException if there is no list by this name
+     */
+    public DictionaryHandle get(String name){
+        DictionaryHandle handle = this.handles.get(baseName(name));
+        if(handle == null){
+            throw new IllegalArgumentException("No dictionary named " + name
+                    + ", try one of " + Arrays.toString(NAMES));
+        }
+        return handle;
+    }
+
+    /**
+     * Returns the dictionary for a handle, loading it if it isn't loaded.
+     * Only one thread loads a list and the others asking for it wait for
+     * it, while lists with other names can load at the same time.
+     * @param handle handle of the list
+     * @return dictionary
+     */
+    protected Dictionary load(DictionaryHandle handle){
+        Dictionary dictionary = this.loaded(handle.getName());
+        if(dictionary != null){
+            return dictionary;
+        }
+        synchronized(this.loadLock(handle.getName())){
+            dictionary = this.loaded(handle.getName());
+            if(dictionary == null){
+                dictionary = this.loader.apply(handle.getName() + EXTENSION);
+                this.add(handle.getName(), dictionary);
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns the lock only the thread loading a list holds. The locks are
+     * kept inside the registry so nothing outside it can hold one.
+     * @param name name of the list
+     * @return lock
+     */
+    private synchronized Object loadLock(String name){
+
+        return this.loadLocks.computeIfAbsent(name, key -> new Object());
+    }
+
+    /**
+     * Returns a dictionary if it is loaded and marks it as just used.
+     * @param name name of the list
+     * @return dictionary or null
+     */
+    private synchronized Dictionary loaded(String name){
+
+        return this.loaded.get(name);
+    }
+
+    /**
+     * Adds a dictionary that was just loaded and lets go of the ones used
+     * longest ago until the rest fit under the cap. The new one is always
+     * kept, even if it is over the cap on its own.
+     * @param name name of the list
+     * @param dictionary dictionary
+     */
+    private synchronized void add(String name, Dictionary dictionary){
+        long size = estimateBytes(dictionary);
+        this.loaded.put(name, dictionary);
+        this.sizes.put(name, size);
+        this.loadedBytes += size;
+        Iterator<String> oldest = this.loaded.keySet().iterator();
+        while(this.loadedBytes > this.memoryCap && oldest.hasNext()){
+            String old = oldest.next();
+            if(!old.equals(name)){
+                oldest.remove();
+                this.loadedBytes -= this.sizes.remove(old);
+            }
+        }
+    }
+
+    /**
+     * Checks if a list is loaded right now.
+     * @param name name or file name of the list
+     * @return true or false
+     */
+    public synchronized boolean isLoaded(String name){
+
+        return this.loaded.containsKey(baseName(name));
+    }
+
+    /**
+     * Returns about how many bytes the loaded dictionaries use.
+     * @return bytes
+     */
+    public synchronized long getLoadedBytes(){
+
+        return this.loadedBytes;
+    }
+
+    /**
+     * Estimates how much heap a dictionary uses. A Trie uses about
+     * 170 bytes a node, a CompactTrie its arrays and a mapped dictionary
+     * nothing on the heap.
+     * @param dictionary dictionary
+     * @return bytes
+     */
+    protected static long estimateBytes(Dictionary dictionary){
+        if(dictionary instanceof Trie){
+            return ((Trie) dictionary).getNodeCount() * TRIE_NODE_BYTES;
+        }else if(dictionary instanceof CompactTrie){
+            return ((CompactTrie) dictionary).getByteSize();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,121 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * Gaddag class holds a GADDAG of the dictionary. Every word is stored once
+ * for each of its letters: the letters up to that one reversed, then a
+ * separator, then the rest of the word. So "cat" is stored as "c{at",
+ * "ac{t" and "tac{". A move can then be built outward from a single square,
+ * first to the left and then, after the separator, to the right. The paths
+ * are minimized with the DawgBuilder.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class Gaddag {
+
+    protected static final char SEPARATOR = '{';
+
+    private Dictionary graph;
+    private int nodeCount;
+
+    /**
+     * Gaddag constructor makes a new GADDAG based on an input file.
+     * @param file file name
+     */
+    public Gaddag(String file){
+
+        this(Trie.readSortedWords(file));
+    }
+
+    /**
+     * Gaddag constructor makes a new GADDAG from a list of lower case words.
+     * @param words words
+     */
+    public Gaddag(List<String> words){
+        CompactTrie built = DawgBuilder.build(paths(words));
+        this.graph = built;
+        this.nodeCount = built.getNodeCount();
+    }
+
+    /**
+     * Gaddag constructor wraps a GADDAG compiled by the DictionaryCompiler
+     * and mapped from its file.
+     * @param graph mapped GADDAG
+     */
+    public Gaddag(MappedDictionary graph){
+        this.graph = graph;
+        this.nodeCount = graph.getNodeCount();
+    }
+
+    /**
+     * Makes the sorted GADDAG paths of each word.
+     * @param words words
+     * @return sorted paths
+     */
+    protected static List<String> paths(List<String> words){
+        List<String> paths = new ArrayList<>();
+        StringBuilder path = new StringBuilder();
+        for(String word: words){
+            for(int split = 1; split <= word.length(); split++){
+                path.setLength(0);
+                for(int i = split - 1; i >= 0; i--){
+                    path.append(word.charAt(i));
+                }
+                path.append(SEPARATOR);
+                path.append(word, split, word.length());
+                paths.add(path.toString());
+            }
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+    /**
+     * Returns the root node.
+     * @return root node
+     */
+    protected int getRoot(){
+
+        return this.graph.getRoot();
+    }
+
+    /**
+     * Returns the child of a node for a letter or the separator.
+     * @param node parent node
+     * @param letter lower case letter or separator
+     * @return child node or -1 if there is none
+     */
+    protected int child(int node, char letter){
+
+        return this.graph.child(node, letter);
+    }
+
+    /**
+     * Checks if a node ends a path.
+     * @param node node to check
+     * @return true or false
+     */
+    protected boolean isLeaf(int node){
+
+        return this.graph.isLeaf(node);
+    }
+
+    /**
+     * Returns the letters a node has children for, one bit per letter.
+     * @param node node to check
+     * @return child mask
+     */
+    protected int getChildMask(int node){
+
+        return this.graph.getChildMask(node);
+    }
+
+    /**
+     * Returns the number of nodes in the GADDAG.
+     * @return node count
+     */
+    protected int getNodeCount(){
+
+        return this.nodeCount;
+    }
+}
@@ -0,0 +1,371 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * GaddagSolver class contains a second move generator for the Solver. It
+ * starts at each anchor and uses a Gaddag to build words outward from it,
+ * first to the left and then to the right, so a word is only followed
+ * while it can still be part of a real word in both directions. Words that
+ * are found are scored by the Solver the same way as its own.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class GaddagSolver {
+
+    private Gaddag gaddag;
+    private Solver solver;
+    private BoardCell[][] grid;
+    private boolean[][] anchors;
+    private CrossChecks crossChecks;
+    private List<BoardCell> anchorCells;
+    private Rack rack;
+    private Tile[] line;
+    private boolean across;
+    private int lineIndex;
+    private int lineLength;
+    private Direction buildDirection;
+    private BoardCell[][] copies;
+    private List<BoardCell> posWord;
+    private List<BoardCell> tilesPlaced;
+
+    /**
+     * GaddagSolver constructor makes a new move generator.
+     * @param gaddag GADDAG of the dictionary
+     * @param solver solver that scores the words found
+     */
+    public GaddagSolver(Gaddag gaddag, Solver solver){
+        this.gaddag = gaddag;
+        this.solver = solver;
+    }
+
+    /**
+     * Finds every word that can be played from the anchors and hands each
+     * one to the solver to be scored.
+     * @param board board being solved
+     * @param tray computers tray of letters
+     * @param boardAnchors anchors on the board
+     * @param crossChecks cross checks of the board
+     */
+    protected void solve(Board board, Tray tray,
+                         List<BoardCell> boardAnchors,
+                         CrossChecks crossChecks){
+        this.prepare(board, tray, boardAnchors, crossChecks);
+        for(BoardCell anchor: this.anchorCells){
+            if(this.solver.outOfTime()){
+                return;
+            }
+            this.solveAnchor(anchor, false);
+            this.solveAnchor(anchor, true);
+        }
+    }
+
+    /**
+     * Gets the board, tray and anchors ready for solveAnchor.
+     * @param board board being solved
+     * @param tray computers tray of letters
+     * @param boardAnchors anchors on the board
+     * @param crossChecks cross checks of the board
+     */
+    protected void prepare(Board board, Tray tray,
+                           List<BoardCell> boardAnchors,
+                           CrossChecks crossChecks){
+        int rows = board.getRows();
+        int cols = board.getCols();
+        this.grid = new BoardCell[rows][cols];
+        this.copies = new BoardCell[rows][cols];
+        this.posWord = new ArrayList<>(Math.max(rows, cols));
+        this.tilesPlaced = new ArrayList<>(Math.max(rows, cols));
+        this.anchors = new boolean[rows][cols];
+        this.crossChecks = crossChecks;
+        for(BoardCell cell: board.getBoard()){
+            this.grid[cell.getYCell()][cell.getXCell()] = cell;
+        }
+        this.anchorCells = new ArrayList<>();
+        for(BoardCell anchor: boardAnchors){
+            if(!this.anchors[anchor.getYCell()][anchor.getXCell()]){
+                this.anchors[anchor.getYCell()][anchor.getXCell()] = true;
+                this.anchorCells.add(anchor);
+            }
+        }
+        this.rack = new Rack(tray);
+    }
+
+    /**
+     * Returns the anchors with duplicates taken out, in the order they are
+     * solved.
+     * @return list of anchors
+     */
+    protected List<BoardCell> getAnchorCells(){
+
+        return this.anchorCells;
+    }
+
+    /**
+     * Finds every word through one anchor in one direction.
+     * @param anchor anchor to build from
+     * @param across true for words built across, false for down
+     */
+    protected void solveAnchor(BoardCell anchor, boolean across){
+        if(across){
+            this.setLine(true, anchor.getYCell(), this.grid[0].length);
+            this.goLeft(anchor.getXCell(), this.gaddag.getRoot(),
+                    anchor.getXCell());
+        }else{
+            this.setLine(false, anchor.getXCell(), this.grid.length);
+            this.goLeft(anchor.getYCell(), this.gaddag.getRoot(),
+                    anchor.getYCell());
+        }
+    }
+
+    /**
+     * Sets the row or column words are being built along.
+     * @param across true for a row, false for a column
+     * @param index row or column number
+     * @param length length of the line
+     */
+    private void setLine(boolean across, int index, int length){
+        this.across = across;
+        this.lineIndex = index;
+        this.lineLength = length;
+        this.line = new Tile[length];
+        this.buildDirection = across ? Direction.RIGHT : Direction.DOWN;
+    }
+
+    /**
+     * Returns the cell at a position on the current line.
+     * @param position position along the line
+     * @return board cell
+     */
+    private BoardCell cellAt(int position){
+        if(this.across){
+            return this.grid[this.lineIndex][position];
+        }
+        return this.grid[position][this.lineIndex];
+    }
+
+    /**
+     * Checks if a position on the current line is an anchor.
+     * @param position position along the line
+     * @return true or false
+     */
+    private boolean isAnchor(int position){
+        if(this.across){
+            return this.anchors[this.lineIndex][position];
+        }
+        return this.anchors[position][this.lineIndex];
+    }
+
+    /**
+     * Checks if a position on the current line has a tile on the board.
+     * @param position position along the line
+     * @return true or false, false if the position is off the board
+     */
+    private boolean hasTile(int position){
+        return position >= 0 && position < this.lineLength &&
+                this.cellAt(position).hasTile();
+    }
+
+    /**
+     * Places letters at a position while moving left from the anchor.
+     * @param position position being filled
+     * @param node GADDAG node of the letters so far
+     * @param anchor position of the anchor
+     */
+    private void goLeft(int position, int node, int anchor){
+        if(this.solver.outOfTime()){
+            return;
+        }
+        BoardCell cell = this.cellAt(position);
+        if(cell.hasTile()){
+            int next = this.gaddag.child(node, letterOf(cell.getTile()));
+            if(next >= 0){
+                this.afterLeft(position, next, anchor);
+            }
+        }else{
+            this.placeFromRack(position, node, anchor, true);
+        }
+    }
+
+    /**
+     * Places letters at a position while moving right after the separator.
+     * @param position position being filled
+     * @param node GADDAG node of the letters so far
+     * @param start position of the first letter of the word
+     */
+    private void goRight(int position, int node, int start){
+        if(this.solver.outOfTime()){
+            return;
+        }
+        BoardCell cell = this.cellAt(position);
+        if(cell.hasTile()){
+            int next = this.gaddag.child(node, letterOf(cell.getTile()));
+            if(next >= 0){
+                this.afterRight(position, next, start);
+            }
+        }else{
+            this.placeFromRack(position, node, start, false);
+        }
+    }
+
+    /**
+     * Tries each different letter left in the rack at an empty position. A
+     * blank is tried as each letter the GADDAG and the cross word allow.
+     * @param position empty position
+     * @param node GADDAG node of the letters so far
+     * @param bound anchor when moving left, start of word when moving right
+     * @param left true if moving left
+     */
+    private void placeFromRack(int position, int node, int bound,
+                               boolean left){
+        int allowed = this.crossMask(position);
+        for(int slot = 0; slot < Rack.BLANK; slot++){
+            if(this.rack.count(slot) > 0 && (allowed & (1 << slot)) != 0){
+                this.rack.take(slot);
+                this.place(position, node, bound, left,
+                        this.rack.getTile(slot));
+                this.rack.put(slot);
+            }
+        }
+        if(this.rack.count(Rack.BLANK) > 0){
+            this.rack.take(Rack.BLANK);
+            int letters = this.gaddag.getChildMask(node) & allowed;
+            while(letters != 0){
+                int index = Integer.numberOfTrailingZeros(letters);
+                letters &= letters - 1;
+                this.place(position, node, bound, left,
+                        this.rack.blankAs((char) ('a' + index)));
+            }
+            this.rack.put(Rack.BLANK);
+        }
+    }
+
+    /**
+     * Puts a tile at a position and keeps building the word.
+     * @param position empty position
+     * @param node GADDAG node of the letters so far
+     * @param bound anchor when moving left, start of word when moving right
+     * @param left true if moving left
+     * @param tile tile placed
+     */
+    private void place(int position, int node, int bound, boolean left,
+                       Tile tile){
+        int next = this.gaddag.child(node, letterOf(tile));
+        if(next < 0){
+            return;
+        }
+        this.line[position] = tile;
+        if(left){
+            this.afterLeft(position, next, bound);
+        }else{
+            this.afterRight(position, next, bound);
+        }
+        this.line[position] = null;
+    }
+
+    /**
+     * Records the word if it is finished, turns around at the separator and
+     * keeps moving left if the word can be longer.
+     * @param position leftmost position filled
+     * @param node GADDAG node of the letters so far
+     * @param anchor position of the anchor
+     */
+    private void afterLeft(int position, int node, int anchor){
+        if(!this.hasTile(position - 1)){
+            int separator = this.gaddag.child(node, Gaddag.SEPARATOR);
+            if(separator >= 0){
+                if(!this.hasTile(anchor + 1) &&
+                        this.gaddag.isLeaf(separator)){
+                    this.record(position, anchor);
+                }
+                if(anchor + 1 < this.lineLength){
+                    this.goRight(anchor + 1, separator, position);
+                }
+            }
+        }
+        if(position > 0){
+            if(this.hasTile(position - 1) || (this.rack.size() > 0 &&
+                    !this.isAnchor(position - 1))){
+                this.goLeft(position - 1, node, anchor);
+            }
+        }
+    }
+
+    /**
+     * Records the word if it is finished and keeps moving right if the word
+     * can be longer.
+     * @param position rightmost position filled
+     * @param node GADDAG node of the letters so far
+     * @param start position of the first letter of the word
+     */
+    private void afterRight(int position, int node, int start){
+        if(!this.hasTile(position + 1) && this.gaddag.isLeaf(node)){
+            this.record(start, position);
+        }
+        if(position + 1 < this.lineLength &&
+                (this.hasTile(position + 1) || this.rack.size() > 0)){
+            this.goRight(position + 1, node, start);
+        }
+    }
+
+    /**
+     * Builds the cells of a finished word and has the solver score it. The
+     * lists and the copies the tiles are put in are kept from word to word,
+     * since the solver copies anything it keeps.
+     * @param start position of the first letter
+     * @param end position of the last letter
+     */
+    private void record(int start, int end){
+        this.posWord.clear();
+        this.tilesPlaced.clear();
+        for(int position = start; position <= end; position++){
+            BoardCell cell = this.cellAt(position);
+            if(this.line[position] != null){
+                BoardCell cellCopy = this.copyOf(cell);
+                cellCopy.setTileInCell(this.line[position]);
+                this.posWord.add(cellCopy);
+                this.tilesPlaced.add(cellCopy);
+            }else{
+                this.posWord.add(cell);
+            }
+        }
+        this.solver.checkScore(this.posWord, this.rack.size(),
+                this.tilesPlaced);
+    }
+
+    /**
+     * Returns the copy of a cell that tiles are put in while words are
+     * recorded, making it the first time.
+     * @param cell cell on the board
+     * @return copy of the cell
+     */
+    private BoardCell copyOf(BoardCell cell){
+        int x = cell.getXCell();
+        int y = cell.getYCell();
+        if(this.copies[y][x] == null){
+            this.copies[y][x] = cell.copyCell();
+        }
+        return this.copies[y][x];
+    }
+
+    /**
+     * Returns the letters that make a real cross word at a position on the
+     * current line, one bit per letter.
+     * @param position empty position
+     * @return letter mask
+     */
+    private int crossMask(int position){
+        BoardCell cell = this.cellAt(position);
+        return this.crossChecks.getMask(cell.getXCell(), cell.getYCell(),
+                this.buildDirection);
+    }
+
+    /**
+     * Returns the lower case letter on a tile.
+     * @param tile tile
+     * @return letter
+     */
+    private static char letterOf(Tile tile){
+
+        return Character.toLowerCase(tile.getLetter().charAt(0));
+    }
+}
@@ -1,10 +1,12 @@
 package scrabble;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
@@ -17,6 +19,8 @@ import javafx.stage.Stage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Game class extends Application for javafx. Contains methods
@@ -26,10 +30,14 @@ import java.util.*;
  */
 public class Game extends Application {
 
+    private static final int CANDIDATES = 10;
+    private static final int HUMAN = 1;
+    private static final int COMPUTER = 2;
     private static Board gameBoard;
-    private static Trie tree;
+    private static DictionaryHandle tree;
     private static ComputerPlayer computerPlayer;
     private static HumanPlayer humanPlayer;
+    private static Match match;
     private Map<Rectangle, BoardCell> boardMap = new HashMap<>();
     private Map<Rectangle, Canvas> trayMap = new HashMap<>();
     private Map<BoardCell, Canvas> tilesOnBoard = new HashMap<>();
@@ -39,6 +47,15 @@ public class Game extends Application {
     private boolean humanTurn = true;
     private boolean exchangeMode = false;
     private List<Tile> tilesToExchange = new LinkedList<>();
+    private ExecutorService computerThread =
+            Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "computer-player");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private Text computerScore;
+    private ProgressIndicator thinking;
+    private Button stop;
 
 
     /**
@@ -70,6 +87,9 @@ public class Game extends Application {
      * @param board gridpane board
      */
     private void mousePressed(Rectangle rect, GridPane board){
+        if(!humanTurn){
+            return;
+        }
         if(tileToBePlaced != null){
             int span = 1;
             BoardCell cell = boardMap.get(rect);
@@ -183,6 +203,9 @@ public class Game extends Application {
      * @param rect tile mouse released on
      */
     private void markTileInTray(Rectangle rect){
+        if(!humanTurn){
+            return;
+        }
         if(exchangeMode){
             Tile tile = tilesInTray.get(trayMap.get(rect));
             if(tilesToExchange.contains(tile)){
@@ -217,7 +240,10 @@ public class Game extends Application {
      * Game behavior for when all tiles for a move have been placed.
      * @param board gridpane gameboard
      */
-    private void playPressed(GridPane board) throws IOException {
+    private void playPressed(GridPane board){
+        if(!humanTurn){
+            return;
+        }
         if(tileToBePlaced == null) {
             if(wordBeingBuilt.size() > 0){
                 if(!humanPlayer.isLegal(wordBeingBuilt)){
@@ -238,19 +264,12 @@ public class Game extends Application {
                         clearOutTileUsed(tile);
                         humanPlayer.getTray().getTray().remove(cell.getTile());
                     }
+                    computerPlayer.boardChanged(wordBeingBuilt);
                     gameBoard.getBag().fillTray(humanPlayer.getTray());
                     tilesInTray.clear();
                     buildTray(board);
-                    if(!humanTurn){
-                        List<BoardCell> compMove = computerPlayer.makeMove();
-                        if(compMove != null){
-                            this.placeCompTiles(board, compMove);
-                        }
-                        humanTurn = true;
-                    }
-                    if(gameOver()){
-                        checkWin(board);
-                    }
+                    match.played();
+                    this.nextTurn(board);
                 }
             }
 
@@ -303,11 +322,14 @@ public class Game extends Application {
      * Makes the button to exchange tiles with and adds listener.
      * @param board gridpane board to have button added
      */
-    private void makeExchangeButton(GridPane board, Text computerScore){
+    private void makeExchangeButton(GridPane board){
         Button exchange = new Button("Exchange");
         int buttonX = 1;
         int span = 2;
         exchange.addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
+            if(!humanTurn){
+                return;
+            }
             if(exchangeMode){
                 int numNeeded = tilesToExchange.size();
                 if(gameBoard.getBagSize() < numNeeded){
@@ -321,22 +343,8 @@ public class Game extends Application {
                 humanPlayer.getTray().getTray().addAll(newTiles);
                 exchangeMode = false;
                 buildTray(board);
-                humanTurn = false;
-                try {
-                    List<BoardCell> compMove = computerPlayer.makeMove();
-                    if(compMove != null){
-                        this.placeCompTiles(board, compMove);
-                        computerScore.setText("Computer Score: " +
-                                computerPlayer.getCurrentScore());
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-                if(gameOver()){
-                    checkWin(board);
-                }
-                humanTurn = true;
-
+                match.played();
+                this.computerTurn(board);
             }else{
                 exchangeMode = true;
             }
@@ -348,9 +356,8 @@ public class Game extends Application {
     /**
      * Creates button for player to pass on their turn.
      * @param board gridpane to be added to
-     * @param computerScore text on pane of computer score
      */
-    private void makePassButton(GridPane board, Text computerScore){
+    private void makePassButton(GridPane board){
         Button pass = new Button("Pass");
         int buttonX = 13;
         int span = 1;
@@ -359,21 +366,91 @@ public class Game extends Application {
                 return;
             }
             humanTurn = false;
+            match.passed();
+            this.nextTurn(board);
+        });
+        board.add(pass, buttonX, gameBoard.getRows() + 1, span, span);
+    }
+
+    /**
+     * Hands the turn to the computer after the human's turn, or shows who
+     * won if the human's turn ended the game.
+     * @param board gridPane
+     */
+    private void nextTurn(GridPane board){
+        if(match.isOver()){
+            checkWin(board);
+        }else{
+            this.computerTurn(board);
+        }
+    }
+
+    /**
+     * Has the computer make its move on another thread so the GUI keeps
+     * drawing while it thinks. The human can't play until the move is
+     * placed, which happens back on the JavaFX thread, and the GUI is
+     * handed back to the human even if working out the move fails. Stop is
+     * reset before the move is handed over so a press before the computer
+     * starts still counts, and thinking ahead is told to stop so the move
+     * isn't queued behind it. The move is recorded in the match, which
+     * says if the game is over. Once it is the human's turn again the
+     * computer starts thinking ahead about its next reply.
+     * @param board gridPane
+     */
+    private void computerTurn(GridPane board){
+        humanTurn = false;
+        thinking.setVisible(true);
+        stop.setVisible(true);
+        computerPlayer.resetCancel();
+        computerPlayer.cancelThinkingAhead();
+        computerThread.execute(() -> {
+            List<BoardCell> compMove = null;
             try {
-                List<BoardCell> compMove = computerPlayer.makeMove();
-                if(compMove != null){
-                    this.placeCompTiles(board, compMove);
-                    computerScore.setText("Computer Score: " +
-                            computerPlayer.getCurrentScore());
-                }else{
-                    checkWin(board);
-                }
-                humanTurn = true;
+                compMove = computerPlayer.makeMove();
             } catch (IOException e) {
                 e.printStackTrace();
+            } finally {
+                List<BoardCell> move = compMove;
+                Platform.runLater(() -> {
+                    thinking.setVisible(false);
+                    stop.setVisible(false);
+                    if(move != null){
+                        this.placeCompTiles(board, move);
+                        match.played();
+                    }else{
+                        match.passed();
+                    }
+                    computerScore.setText("Computer Score: " +
+                            computerPlayer.getCurrentScore());
+                    if(match.isOver()){
+                        checkWin(board);
+                        return;
+                    }
+                    humanTurn = true;
+                    computerPlayer.thinkAhead(computerThread);
+                });
             }
         });
-        board.add(pass, buttonX, gameBoard.getRows() + 1, span, span);
+    }
+
+    /**
+     * Makes the thinking indicator and the button that stops the computer
+     * thinking and has it play the best word found so far. Both are only
+     * shown while the computer is making its move.
+     * @param board gridpane to be added to
+     */
+    private void makeThinkingIndicator(GridPane board){
+        int indicatorX = 7;
+        int stopX = 8;
+        int span = 1;
+        thinking = new ProgressIndicator();
+        thinking.setVisible(false);
+        stop = new Button("Stop");
+        stop.setVisible(false);
+        stop.addEventHandler(MouseEvent.MOUSE_RELEASED, event ->
+                computerPlayer.cancel());
+        board.add(thinking, indicatorX, gameBoard.getRows(), span, span);
+        board.add(stop, stopX, gameBoard.getRows(), span, span);
     }
 
     /**
@@ -391,61 +468,26 @@ public class Game extends Application {
             tilesOnBoard.put(boardCell, tile);
             board.add(tile, cell.getXCell(), cell.getYCell(), span, span);
         }
+        computerPlayer.boardChanged(compMove);
     }
 
     /**
-     * Checks if the game is over.
-     * @return true or false
-     */
-    private boolean gameOver(){
-        if(gameBoard.getBag().getBagSize() == 0){
-            return computerPlayer.getTray().getTray().size() == 0 ||
-                    humanPlayer.getTray().getTray().size() == 0;
-        }
-        return false;
-    }
-
-    /**
-     * Checks who won.
+     * Settles the tiles left at the end of the game and shows who won.
      * @param board gridPane
      */
     private void checkWin(GridPane board){
         int fontSize = 20;
-        int remainingCompLetters = 0;
-        int remainingHumanLetters = 0;
-        int beforeCompScore = computerPlayer.getCurrentScore();
-        int beforeHumanScore = humanPlayer.getCurrentScore();
-        for(Tile tile: computerPlayer.getTray().getTray()){
-            remainingCompLetters += tile.getPointVal();
-        }
-        for(Tile tile: humanPlayer.getTray().getTray()){
-            remainingHumanLetters += tile.getPointVal();
-        }
-        humanPlayer.subtract(remainingHumanLetters);
-        computerPlayer.subtract(remainingCompLetters);
-        if(computerPlayer.getTray().getTray().size() == 0 &&
-                humanPlayer.getTray().getTray().size() > 0){
-            computerPlayer.addToScore(remainingHumanLetters);
-        }else if(humanPlayer.getTray().getTray().size() == 0 &&
-                    computerPlayer.getTray().getTray().size() > 0){
-            humanPlayer.addToScore(remainingCompLetters);
-        }
+        int winnerNumber = match.settle();
+        computerScore.setText("Computer Score: " +
+                computerPlayer.getCurrentScore());
         Text winner = new Text();
         winner.setFont(new Font(fontSize));
-        if(computerPlayer.getCurrentScore() > humanPlayer.getCurrentScore()){
+        if(winnerNumber == COMPUTER){
             winner.setText("Computer Wins!");
-        }else if(humanPlayer.getCurrentScore() >
-                computerPlayer.getCurrentScore()){
+        }else if(winnerNumber == HUMAN){
             winner.setText("Human Wins!");
-        }else if(humanPlayer.getCurrentScore() ==
-                computerPlayer.getCurrentScore()){
-            if(beforeCompScore > beforeHumanScore){
-                winner.setText("Computer Wins!");
-            }else if(beforeHumanScore > beforeCompScore){
-                winner.setText("Human Wins!");
-            }else{
-                winner.setText("Tie!");
-            }
+        }else{
+            winner.setText("Tie!");
         }
         board.add(winner, 5, gameBoard.getRows(),
                 3,1);
@@ -474,13 +516,14 @@ public class Game extends Application {
         Text humanScore = new Text("Human Score: " +
                                     humanPlayer.getCurrentScore());
 
-        Text computerScore = new Text("Computer Score: " +
+        computerScore = new Text("Computer Score: " +
                                         computerPlayer.getCurrentScore());
         humanScore.setFont(new Font(fontSize));
         computerScore.setFont(new Font(fontSize));
 
-        makeExchangeButton(board, computerScore);
-        makePassButton(board, computerScore);
+        makeExchangeButton(board);
+        makePassButton(board);
+        makeThinkingIndicator(board);
 
         board.add(humanScore, buttonX - 11, gameBoard.getRows(),
                  span + 2, span);
@@ -489,23 +532,16 @@ public class Game extends Application {
 
         Button play = new Button("Play");
         play.addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
-            try {
-                playPressed(board);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            playPressed(board);
             humanScore.setText("Human Score: " +
                     humanPlayer.getCurrentScore());
-            computerScore.setText("Computer Score: " +
-                    computerPlayer.getCurrentScore());
-
         });
         board.add(play, buttonX - 1, gameBoard.getRows()+1,
                 span ,span);
 
         Scene root = new Scene(board, sceneWidth, sceneHeight);
         root.addEventHandler(KeyEvent.KEY_PRESSED, event -> {
-            if(tileToBePlaced == null){
+            if(tileToBePlaced == null || !humanTurn){
                 return;
             }
             double canvasSize = 50;
@@ -528,10 +564,26 @@ public class Game extends Application {
         primaryStage.setTitle("Scrabble");
         primaryStage.setScene(root);
         primaryStage.show();
+        computerPlayer.thinkAhead(computerThread);
+    }
+
+    /**
+     * Stops the computer thinking when the window is closed.
+     */
+    @Override
+    public void stop(){
+        computerPlayer.shutdown();
+        computerThread.shutdownNow();
     }
 
     /**
-     * Main starts GUI and reads necessary files.
+     * Main starts GUI and reads necessary files. Passing --gaddag after the
+     * dictionary file has the computer find its moves with a GADDAG, and
+     * --budget with a number of milliseconds limits how long each computer
+     * move can take. --simulate with a number of milliseconds has the
+     * computer spend that long playing out its --candidates best scoring
+     * moves before picking one. The dictionary is loaded the same way as
+     * for the Solver, so a compiled .dict file works too.
      * @param args command line args
      * @throws IOException because of input
      */
@@ -545,7 +597,7 @@ public class Game extends Application {
             return;
         }
 
-        tree = new Trie(file);
+        tree = Solver.loadDictionary(file, args);
         InputStream boardText = Game.class.getClassLoader().
                 getResourceAsStream("scrabble_board.txt");
         assert boardText != null;
@@ -556,10 +608,25 @@ public class Game extends Application {
             gameBoard = readInBoard(scanner,size);
         }
 
-        computerPlayer = new ComputerPlayer(tree, gameBoard,
+        Gaddag gaddag = null;
+        if(Arrays.asList(args).contains("--gaddag")){
+            gaddag = Solver.loadGaddag(file, tree);
+        }
+        computerPlayer = new ComputerPlayer(tree, gaddag, gameBoard,
                 new Tray(new LinkedList<>()));
+        computerPlayer.setTimeBudget(Solver.optionValue(args, "--budget",
+                0));
+        int simulate = Solver.optionValue(args, "--simulate", 0);
+        if(simulate > 0){
+            computerPlayer.setSimulation(Solver.optionValue(args,
+                    "--candidates", CANDIDATES), simulate,
+                    Runtime.getRuntime().availableProcessors());
+        }
         humanPlayer = new HumanPlayer(gameBoard, tree,
                 new Tray(new LinkedList<>()));
+        match = new Match(gameBoard, new Tray[]{humanPlayer.getTray(),
+                computerPlayer.getTray()}, new Score[]{humanPlayer.getScore(),
+                computerPlayer.getScore()});
 
         launch(args);
 
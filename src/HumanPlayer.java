@@ -5,7 +5,7 @@ public class HumanPlayer{
 
     private Tray tray;
     private Board board;
-    private Trie tree;
+    private DictionaryHandle handle;
     private Score score;
     private boolean firstTurn = true;
     private final static List<Direction> directions = new LinkedList<>();
@@ -16,9 +16,21 @@ public class HumanPlayer{
      * @param tree reference to dictionary
      * @param tray reference to tray
      */
-    public HumanPlayer(Board board, Trie tree, Tray tray){
+    public HumanPlayer(Board board, Dictionary tree, Tray tray){
+        this(board, DictionaryHandle.of(tree), tray);
+    }
+
+    /**
+     * Human player constructor makes new human player with a dictionary
+     * from a registry. The handle is asked for the dictionary each time a
+     * word is checked.
+     * @param board reference to gameboard
+     * @param handle handle of the dictionary
+     * @param tray reference to tray
+     */
+    public HumanPlayer(Board board, DictionaryHandle handle, Tray tray){
         this.board = board;
-        this.tree = tree;
+        this.handle = handle;
         this.tray = tray;
         this.score = new Score();
         this.board.getBag().fillTray(this.tray);
@@ -101,7 +113,7 @@ public class HumanPlayer{
         if(word.length() < 2){
             return false;
         }
-        if(this.tree.search(word.toString())){
+        if(this.handle.getDictionary().search(word.toString())){
             for(BoardCell cell: wordPlaced){
                 if(!crossCheck(this.board, cell, buildDirection)){
                     return false;
@@ -111,7 +123,7 @@ public class HumanPlayer{
                 firstTurn = false;
             }
             this.score.addToScore(this.score.scoreWord(fullWord, this.tray,
-                    buildDirection, board, wordPlaced));
+                    board, wordPlaced));
             return true;
         }
         return false;
@@ -127,19 +139,12 @@ public class HumanPlayer{
     }
 
     /**
-     * Adds to the humans score.
-     * @param points to add
+     * Returns the humans score.
+     * @return score
      */
-    protected void addToScore(int points){
-        this.score.addToScore(points);
-    }
+    protected Score getScore(){
 
-    /**
-     * Subtracts from the humans current score.
-     * @param points to subtract
-     */
-    protected void subtract(int points){
-        this.score.subtractFromScore(points);
+        return this.score;
     }
 
     /**
@@ -230,7 +235,7 @@ public class HumanPlayer{
             }
         }
         if(hasWord){
-            return this.tree.search(word.toString());
+            return this.handle.getDictionary().search(word.toString());
         }
         return true;
     }
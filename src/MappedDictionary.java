@@ -0,0 +1,264 @@
+package scrabble;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * MappedDictionary class reads a dictionary compiled by the
+ * DictionaryCompiler straight out of its file. The file is mapped into
+ * memory with FileChannel.map and the nodes are read from the mapping as
+ * they are needed, so loading takes no time at all and every JVM using the
+ * same file shares one copy of it in the page cache. The file holds the
+ * same arrays as a CompactTrie, one int at a time:
+ * magic, version, root, node count, edge count, then the node masks, the
+ * first edge of each node and the edges.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class MappedDictionary implements Dictionary {
+
+    protected static final int MAGIC = 0x53435244;
+    protected static final int VERSION = 1;
+    private static final int HEADER = 20;
+
+    private MappedByteBuffer buffer;
+    private int root;
+    private int nodeCount;
+    private int edgeCount;
+    private int firstEdgeAt;
+    private int edgesAt;
+
+    /**
+     * Constructor for MappedDictionary maps a compiled dictionary file.
+     * @param file compiled dictionary
+     * @throws IOException if the file can't be read or isn't a dictionary
+     */
+    public MappedDictionary(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)){
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+        if(this.buffer.capacity() < HEADER ||
+                this.buffer.getInt(0) != MAGIC){
+            throw new IOException(file + " is not a compiled dictionary");
+        }
+        if(this.buffer.getInt(4) != VERSION){
+            throw new IOException(file + " was compiled with version " +
+                    this.buffer.getInt(4) + " instead of " + VERSION);
+        }
+        this.root = this.buffer.getInt(8);
+        this.nodeCount = this.buffer.getInt(12);
+        this.edgeCount = this.buffer.getInt(16);
+        this.firstEdgeAt = HEADER + 4 * this.nodeCount;
+        this.edgesAt = this.firstEdgeAt + 4 * this.nodeCount;
+        if(this.buffer.capacity() != this.edgesAt + 4L * this.edgeCount){
+            throw new IOException(file + " is the wrong size");
+        }
+    }
+
+    /**
+     * Writes the arrays of a dictionary to a file in the mapped format.
+     * @param graph dictionary or GADDAG to write
+     * @param file file written
+     * @throws IOException if the file can't be written
+     */
+    protected static void write(CompactTrie graph, Path file)
+            throws IOException {
+        try(DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))){
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(graph.getRoot());
+            out.writeInt(graph.getNodeCount());
+            out.writeInt(graph.getEdgeCount());
+            for(int i = 0; i < graph.getNodeCount(); i++){
+                out.writeInt(graph.getMasks()[i]);
+            }
+            for(int i = 0; i < graph.getNodeCount(); i++){
+                out.writeInt(graph.getFirstEdges()[i]);
+            }
+            for(int i = 0; i < graph.getEdgeCount(); i++){
+                out.writeInt(graph.getEdges()[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the mask and leaf bit of a node.
+     * @param node node
+     * @return mask
+     */
+    private int mask(int node){
+
+        return this.buffer.getInt(HEADER + 4 * node);
+    }
+
+    /**
+     * Returns the root node.
+     * @return root node
+     */
+    @Override
+    public int getRoot(){
+
+        return this.root;
+    }
+
+    /**
+     * Checks if a node ends a word.
+     * @param node node to check
+     * @return true or false
+     */
+    @Override
+    public boolean isLeaf(int node){
+
+        return (this.mask(node) & CompactTrie.LEAF) != 0;
+    }
+
+    /**
+     * Returns the letters a node has children for, one bit per letter.
+     * @param node node to check
+     * @return child mask
+     */
+    @Override
+    public int getChildMask(int node){
+
+        return this.mask(node) & ~CompactTrie.LEAF;
+    }
+
+    /**
+     * Returns the child of a node for a letter.
+     * @param node parent node
+     * @param letter letter of the child
+     * @return child node or -1 if there is none
+     */
+    @Override
+    public int child(int node, char letter){
+        int index = CompactTrie.index(letter);
+        if(index < 0){
+            return -1;
+        }
+        int bit = 1 << index;
+        int mask = this.mask(node);
+        if((mask & bit) == 0){
+            return -1;
+        }
+        int edge = this.buffer.getInt(this.firstEdgeAt + 4 * node) +
+                Integer.bitCount(mask & (bit - 1));
+        return this.buffer.getInt(this.edgesAt + 4 * edge);
+    }
+
+    /**
+     * Walks from the root through the letters of a word.
+     * @param word word to walk
+     * @return last node reached or -1 if the word fell off the dictionary
+     */
+    private int walk(String word){
+        int node = this.root;
+        for(int i = 0; i < word.length() && node >= 0; i++){
+            node = this.child(node, Character.toLowerCase(word.charAt(i)));
+        }
+        return node;
+    }
+
+    /**
+     * Searches for a full word in the dictionary.
+     * @param word word to search for
+     * @return true or false
+     */
+    @Override
+    public boolean search(String word){
+        int node = this.walk(word);
+        return node >= 0 && this.isLeaf(node);
+    }
+
+    /**
+     * Searches for a partial word.
+     * @param partial partial word to be checked
+     * @return true or false if partial is in the dictionary or not
+     */
+    @Override
+    public boolean searchPartial(String partial){
+
+        return this.walk(partial) >= 0;
+    }
+
+    /**
+     * Returns the possible next letter for a given node. Like the Trie it
+     * stops at the last letter it can follow.
+     * @param partialWord word to get to node
+     * @return set of possible next characters
+     */
+    @Override
+    public Set<Character> getNodeKeys(String partialWord){
+        int node = this.root;
+        for(int i = 0; i < partialWord.length(); i++){
+            int next = this.child(node,
+                    Character.toLowerCase(partialWord.charAt(i)));
+            if(next < 0){
+                break;
+            }
+            node = next;
+        }
+        Set<Character> keys = new LinkedHashSet<>();
+        int mask = this.getChildMask(node);
+        while(mask != 0){
+            int index = Integer.numberOfTrailingZeros(mask);
+            keys.add((char) ('a' + index));
+            mask &= mask - 1;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns every word in the dictionary in alphabetical order, for
+     * building a Gaddag when there is no compiled one.
+     * @return sorted words
+     */
+    protected List<String> getWords(){
+        List<String> words = new ArrayList<>();
+        this.addWords(this.root, new StringBuilder(), words);
+        return words;
+    }
+
+    /**
+     * Adds the words under a node to a list.
+     * @param node node reached by the letters so far
+     * @param letters letters so far
+     * @param words list of words
+     */
+    private void addWords(int node, StringBuilder letters,
+                          List<String> words){
+        if(this.isLeaf(node)){
+            words.add(letters.toString());
+        }
+        int mask = this.getChildMask(node);
+        while(mask != 0){
+            char letter = (char) ('a' + Integer.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
+            letters.append(letter);
+            this.addWords(this.child(node, letter), letters, words);
+            letters.setLength(letters.length() - 1);
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the dictionary.
+     * @return node count
+     */
+    protected int getNodeCount(){
+
+        return this.nodeCount;
+    }
+
+    /**
+     * Returns the number of edges in the dictionary.
+     * @return edge count
+     */
+    protected int getEdgeCount(){
+
+        return this.edgeCount;
+    }
+}
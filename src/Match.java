@@ -0,0 +1,133 @@
+package scrabble;
+
+/**
+ * Match class keeps track of whose turn it is in a game and when the game
+ * is over, and settles the tiles left when it ends. The players take turns
+ * until one of them uses all their tiles with the bag empty, or every
+ * player passes in a row. It has no GUI code, so the GUI game and SelfPlay
+ * play by the same rules.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class Match {
+
+    public static final int TIE = 0;
+
+    private Board board;
+    private Tray[] trays;
+    private Score[] scores;
+    private int turn;
+    private int passes;
+    private boolean over;
+
+    /**
+     * Match constructor. The first player is on move.
+     * @param board board being played on
+     * @param trays each player's tray, in turn order
+     * @param scores each player's score, in the same order
+     * @throws IllegalArgumentException if there isn't a score for each tray
+     */
+    public Match(Board board, Tray[] trays, Score[] scores){
+        if(trays.length != scores.length){
+            throw new IllegalArgumentException("Need a score for each of " +
+                    "the " + trays.length + " trays, not " + scores.length);
+        }
+        this.board = board;
+        this.trays = trays;
+        this.scores = scores;
+    }
+
+    /**
+     * Returns which player is on move.
+     * @return index of the player, in turn order
+     */
+    public int onMove(){
+
+        return this.turn;
+    }
+
+    /**
+     * Checks if the game is over.
+     * @return true or false
+     */
+    public boolean isOver(){
+
+        return this.over;
+    }
+
+    /**
+     * Records that the player on move played tiles or exchanged them, and
+     * hands the turn to the next player. The game is over if the bag is
+     * empty and the player used all their tiles.
+     */
+    protected void played(){
+        this.passes = 0;
+        if(this.board.getBagSize() == 0 &&
+                this.trays[this.turn].getTray().isEmpty()){
+            this.over = true;
+        }
+        this.next();
+    }
+
+    /**
+     * Records that the player on move passed, and hands the turn to the
+     * next player. The game is over once every player passed in a row.
+     */
+    protected void passed(){
+        this.passes++;
+        if(this.passes >= this.trays.length){
+            this.over = true;
+        }
+        this.next();
+    }
+
+    /**
+     * Hands the turn to the next player.
+     */
+    private void next(){
+
+        this.turn = (this.turn + 1) % this.trays.length;
+    }
+
+    /**
+     * Settles the tiles left at the end of the game and finds the winner.
+     * The points of the tiles left in each tray are taken off that player's
+     * score and given to a player who used all their tiles. A tie on the
+     * final scores goes to whoever was ahead before the tiles were settled.
+     * @return number of the winner counting from 1 in turn order, or TIE
+     */
+    protected int settle(){
+        int[] before = new int[this.scores.length];
+        int total = 0;
+        for(int i = 0; i < this.trays.length; i++){
+            before[i] = this.scores[i].getCurrentScore();
+            int left = 0;
+            for(Tile tile: this.trays[i].getTray()){
+                left += tile.getPointVal();
+            }
+            total += left;
+            this.scores[i].subtractFromScore(left);
+        }
+        for(int i = 0; i < this.trays.length; i++){
+            if(this.trays[i].getTray().isEmpty() && total > 0){
+                this.scores[i].addToScore(total);
+                break;
+            }
+        }
+        int best = 0;
+        boolean tie = false;
+        for(int i = 1; i < this.scores.length; i++){
+            int score = this.scores[i].getCurrentScore();
+            int bestScore = this.scores[best].getCurrentScore();
+            int order = score != bestScore ? Integer.compare(score,
+                    bestScore) : Integer.compare(before[i], before[best]);
+            if(order > 0){
+                best = i;
+                tie = false;
+            }else if(order == 0){
+                tie = true;
+            }
+        }
+        return tie ? TIE : best + 1;
+    }
+}
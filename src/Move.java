@@ -0,0 +1,423 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * Move class is a compact copy of a move found by the solver. The first
+ * long of a move holds the column and row of the first letter, whether the
+ * word goes across, its length and its score. The letters follow, nine to
+ * a long at seven bits a letter: five for the letter, one set if it was
+ * played from the tray and one set if it is a blank. A word of up to nine
+ * letters fits in two longs, and a move on a board of any size up to
+ * MAX_SIZE by MAX_SIZE packs the same way. MoveList keeps the same longs
+ * one move after another in one array so moves can be saved without
+ * making any objects.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public final class Move {
+
+    public static final int MAX_SIZE = (1 << 10) - 1;
+    private static final int FIELD_BITS = 10;
+    private static final long FIELD = (1 << FIELD_BITS) - 1;
+    private static final int LETTERS_PER_LONG = 9;
+    private static final int LETTER_BITS = 7;
+    private static final long FIVE_BITS = (1 << 5) - 1;
+    private static final int PLACED = 5;
+    private static final int BLANK = 6;
+
+    private final long[] longs;
+
+    /**
+     * Move constructor wraps the longs of a move.
+     * @param longs header followed by the letters
+     */
+    private Move(long[] longs){
+
+        this.longs = longs;
+    }
+
+    /**
+     * Makes a move from the longs it is packed into in an array.
+     * @param packed array the move is packed in
+     * @param at index of the header of the move
+     * @return move
+     */
+    protected static Move read(long[] packed, int at){
+        return new Move(Arrays.copyOfRange(packed, at,
+                at + longsOf(packed[at])));
+    }
+
+    /**
+     * Makes a move from the cells the solver built it with.
+     * @param posWord cells of the whole word
+     * @param tilesPlaced cells the tray tiles went in
+     * @param score score of the move
+     * @return move
+     */
+    public static Move of(List<BoardCell> posWord,
+                          List<BoardCell> tilesPlaced, int score){
+        long[] packed = new long[longsFor(posWord.size())];
+        pack(posWord, tilesPlaced, score, packed, 0);
+        return new Move(packed);
+    }
+
+    /**
+     * Returns how many longs a move of a word this long takes.
+     * @param length number of letters
+     * @return number of longs
+     */
+    protected static int longsFor(int length){
+
+        return 1 + (length + LETTERS_PER_LONG - 1) / LETTERS_PER_LONG;
+    }
+
+    /**
+     * Returns how many longs a packed move takes.
+     * @param header first long of the move
+     * @return number of longs
+     */
+    protected static int longsOf(long header){
+
+        return longsFor(lengthOf(header));
+    }
+
+    /**
+     * Packs a move into an array, which needs room for longsFor of the
+     * length of the word from at.
+     * @param posWord cells of the whole word
+     * @param tilesPlaced cells the tray tiles went in
+     * @param score score of the move
+     * @param into array the move is written to
+     * @param at index the header of the move goes at
+     * @throws IllegalArgumentException if the word is off the edge of a
+     *                                  MAX_SIZE by MAX_SIZE board
+     */
+    protected static void pack(List<BoardCell> posWord,
+                               List<BoardCell> tilesPlaced, int score,
+                               long[] into, int at){
+        int length = posWord.size();
+        BoardCell first = posWord.get(0);
+        BoardCell last = posWord.get(length - 1);
+        if(last.getXCell() >= MAX_SIZE || last.getYCell() >= MAX_SIZE){
+            throw new IllegalArgumentException("Move doesn't fit: " +
+                    length + " letters at " + first.getXCell() + "," +
+                    first.getYCell());
+        }
+        boolean across = first.getYCell() == last.getYCell();
+        into[at] = first.getXCell() | (long) first.getYCell() << FIELD_BITS |
+                (across ? 1L : 0L) << (2 * FIELD_BITS) |
+                (long) length << (2 * FIELD_BITS + 1) |
+                (long) score << 32;
+        long letters = 0;
+        for(int i = 0; i < length; i++){
+            char c = posWord.get(i).getTile().getLetter().charAt(0);
+            long bits = Character.toLowerCase(c) - 'a';
+            if(Character.isUpperCase(c)){
+                bits |= 1L << BLANK;
+            }
+            letters |= bits << (LETTER_BITS * (i % LETTERS_PER_LONG));
+            if(i % LETTERS_PER_LONG == LETTERS_PER_LONG - 1 ||
+                    i == length - 1){
+                into[at + 1 + i / LETTERS_PER_LONG] = letters;
+                letters = 0;
+            }
+        }
+        for(int i = 0; i < tilesPlaced.size(); i++){
+            BoardCell cell = tilesPlaced.get(i);
+            int letter = across ? cell.getXCell() - first.getXCell() :
+                    cell.getYCell() - first.getYCell();
+            into[at + 1 + letter / LETTERS_PER_LONG] |= 1L << (LETTER_BITS *
+                    (letter % LETTERS_PER_LONG) + PLACED);
+        }
+    }
+
+    /**
+     * Sets the score of a move packed into an array.
+     * @param into array the move is in
+     * @param at index of the header of the move
+     * @param score score of the move
+     */
+    protected static void setScore(long[] into, int at, int score){
+
+        into[at] = into[at] & 0xFFFFFFFFL | (long) score << 32;
+    }
+
+    /**
+     * Returns the score of a packed move.
+     * @param header first long of the move
+     * @return score
+     */
+    protected static int scoreOf(long header){
+
+        return (int) (header >> 32);
+    }
+
+    /**
+     * Returns the column of the first letter of a packed move.
+     * @param header first long of the move
+     * @return column
+     */
+    protected static int xOf(long header){
+
+        return (int) (header & FIELD);
+    }
+
+    /**
+     * Returns the row of the first letter of a packed move.
+     * @param header first long of the move
+     * @return row
+     */
+    protected static int yOf(long header){
+
+        return (int) (header >>> FIELD_BITS & FIELD);
+    }
+
+    /**
+     * Checks if a packed move goes across.
+     * @param header first long of the move
+     * @return true for across, false for down
+     */
+    protected static boolean acrossOf(long header){
+
+        return (header >>> (2 * FIELD_BITS) & 1) != 0;
+    }
+
+    /**
+     * Returns the number of letters of a packed move.
+     * @param header first long of the move
+     * @return length
+     */
+    protected static int lengthOf(long header){
+
+        return (int) (header >>> (2 * FIELD_BITS + 1) & FIELD);
+    }
+
+    /**
+     * Returns the seven bits of a letter of a packed move.
+     * @param move array the move is packed in
+     * @param at index of the header of the move
+     * @param i index of the letter
+     * @return bits of the letter
+     */
+    private static long bitsOf(long[] move, int at, int i){
+        return move[at + 1 + i / LETTERS_PER_LONG] >>>
+                (LETTER_BITS * (i % LETTERS_PER_LONG));
+    }
+
+    /**
+     * Checks if a letter of a packed move was played from the tray.
+     * @param move array the move is packed in
+     * @param at index of the header of the move
+     * @param i index of the letter
+     * @return true or false
+     */
+    protected static boolean placedOf(long[] move, int at, int i){
+
+        return (bitsOf(move, at, i) >>> PLACED & 1) != 0;
+    }
+
+    /**
+     * Checks if a letter of a packed move is a blank.
+     * @param move array the move is packed in
+     * @param at index of the header of the move
+     * @param i index of the letter
+     * @return true or false
+     */
+    protected static boolean blankOf(long[] move, int at, int i){
+
+        return (bitsOf(move, at, i) >>> BLANK & 1) != 0;
+    }
+
+    /**
+     * Returns a letter of a packed move as 0 for a up to 25 for z.
+     * @param move array the move is packed in
+     * @param at index of the header of the move
+     * @param i index of the letter
+     * @return letter index
+     */
+    protected static int letterOf(long[] move, int at, int i){
+
+        return (int) (bitsOf(move, at, i) & FIVE_BITS);
+    }
+
+    /**
+     * Returns the column of the first letter.
+     * @return column
+     */
+    public int getX(){
+
+        return xOf(this.longs[0]);
+    }
+
+    /**
+     * Returns the row of the first letter.
+     * @return row
+     */
+    public int getY(){
+
+        return yOf(this.longs[0]);
+    }
+
+    /**
+     * Checks if the word goes across.
+     * @return true for across, false for down
+     */
+    public boolean isAcross(){
+
+        return acrossOf(this.longs[0]);
+    }
+
+    /**
+     * Returns the number of letters in the word.
+     * @return length
+     */
+    public int getLength(){
+
+        return lengthOf(this.longs[0]);
+    }
+
+    /**
+     * Returns the score of the move.
+     * @return score
+     */
+    public int getScore(){
+
+        return scoreOf(this.longs[0]);
+    }
+
+    /**
+     * Checks if a letter of the word was played from the tray.
+     * @param i index of the letter
+     * @return true or false
+     */
+    public boolean isPlaced(int i){
+
+        return placedOf(this.longs, 0, i);
+    }
+
+    /**
+     * Checks if a letter of the word is a blank.
+     * @param i index of the letter
+     * @return true or false
+     */
+    public boolean isBlank(int i){
+
+        return blankOf(this.longs, 0, i);
+    }
+
+    /**
+     * Returns a letter of the word, upper case if it is a blank.
+     * @param i index of the letter
+     * @return letter
+     */
+    public char letterAt(int i){
+        char letter = (char) ('a' + letterOf(this.longs, 0, i));
+        return this.isBlank(i) ? Character.toUpperCase(letter) : letter;
+    }
+
+    /**
+     * Returns the whole word, blanks upper case.
+     * @return word
+     */
+    public String getWord(){
+        StringBuilder word = new StringBuilder(this.getLength());
+        for(int i = 0; i < this.getLength(); i++){
+            word.append(this.letterAt(i));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Returns the letters played from the tray, blanks upper case.
+     * @return tiles
+     */
+    public String getTiles(){
+        StringBuilder tiles = new StringBuilder();
+        for(int i = 0; i < this.getLength(); i++){
+            if(this.isPlaced(i)){
+                tiles.append(this.letterAt(i));
+            }
+        }
+        return tiles.toString();
+    }
+
+    /**
+     * Returns the cell of a letter on a board.
+     * @param board board
+     * @param i index of the letter
+     * @return cell
+     */
+    private BoardCell cellAt(Board board, int i){
+        if(this.isAcross()){
+            return board.getCell(this.getX() + i, this.getY());
+        }
+        return board.getCell(this.getX(), this.getY() + i);
+    }
+
+    /**
+     * Makes the cells of the tiles played, the list placeWord and the game
+     * put on the board. The tiles are taken out of the tray, a blank
+     * getting the letter it is played as.
+     * @param board board the move is played on
+     * @param tray tray the tiles come from
+     * @return cells of the tiles played
+     */
+    protected List<BoardCell> toPlacedCells(Board board, Tray tray){
+        List<BoardCell> placed = new LinkedList<>();
+        for(int i = 0; i < this.getLength(); i++){
+            if(!this.isPlaced(i)){
+                continue;
+            }
+            BoardCell cell = this.cellAt(board, i).copyCell();
+            String letter = String.valueOf(Character.toLowerCase(
+                    this.letterAt(i)));
+            if(this.isBlank(i)){
+                Tile blank = tray.getTile("*");
+                tray.getTray().remove(blank);
+                Tile played = blank.copyTile();
+                played.setLetter(letter);
+                cell.setTileInCell(played);
+            }else{
+                Tile tile = tray.getTile(letter);
+                tray.getTray().remove(tile);
+                cell.setTileInCell(tile);
+            }
+            placed.add(cell);
+        }
+        return placed;
+    }
+
+    /**
+     * Checks if two moves are the same.
+     * @param other other object
+     * @return true or false
+     */
+    @Override
+    public boolean equals(Object other){
+        if(!(other instanceof Move)){
+            return false;
+        }
+        return Arrays.equals(this.longs, ((Move) other).longs);
+    }
+
+    /**
+     * Returns a hash code made from the longs of the move.
+     * @return hash code
+     */
+    @Override
+    public int hashCode(){
+
+        return Arrays.hashCode(this.longs);
+    }
+
+    /**
+     * Returns the move as a line of text.
+     * @return text of the move
+     */
+    @Override
+    public String toString(){
+        return this.getWord() + " at " + this.getX() + "," + this.getY() +
+                " " + (this.isAcross() ? "across" : "down") + " for " +
+                this.getScore() + " points using " + this.getTiles();
+    }
+}
@@ -0,0 +1,112 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * MoveList class holds every move the solver finds in one array, each move
+ * as the same longs a Move is made of, one after another. Where each move
+ * starts is kept in a second array. Adding a move makes no objects unless
+ * the arrays have to grow, so every move on a position can be kept without
+ * leaving garbage behind. A Move is only made when one is asked for.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class MoveList {
+
+    private static final int START_MOVES = 256;
+    private static final int START_LONGS = 2;
+
+    private long[] moves = new long[START_MOVES * START_LONGS];
+    private int[] starts = new int[START_MOVES];
+    private int size;
+    private int used;
+
+    /**
+     * Adds a move packed like a Move.
+     * @param move array the move is packed in
+     * @param at index of the header of the move
+     */
+    protected void add(long[] move, int at){
+        int longs = Move.longsOf(move[at]);
+        this.ensure(this.size + 1, this.used + longs);
+        System.arraycopy(move, at, this.moves, this.used, longs);
+        this.starts[this.size++] = this.used;
+        this.used += longs;
+    }
+
+    /**
+     * Adds one move of another list.
+     * @param other list of moves
+     * @param i index of the move in the other list
+     */
+    protected void add(MoveList other, int i){
+
+        this.add(other.moves, other.starts[i]);
+    }
+
+    /**
+     * Adds every move of another list after the moves in this one.
+     * @param other list of moves
+     */
+    protected void addAll(MoveList other){
+        this.ensure(this.size + other.size, this.used + other.used);
+        System.arraycopy(other.moves, 0, this.moves, this.used, other.used);
+        for(int i = 0; i < other.size; i++){
+            this.starts[this.size + i] = this.used + other.starts[i];
+        }
+        this.size += other.size;
+        this.used += other.used;
+    }
+
+    /**
+     * Grows the arrays so they hold at least a number of moves and longs.
+     * @param count number of moves
+     * @param longs number of longs
+     */
+    private void ensure(int count, int longs){
+        if(count > this.starts.length){
+            this.starts = Arrays.copyOf(this.starts, Math.max(count,
+                    this.starts.length * 2));
+        }
+        if(longs > this.moves.length){
+            this.moves = Arrays.copyOf(this.moves, Math.max(longs,
+                    this.moves.length * 2));
+        }
+    }
+
+    /**
+     * Returns the number of moves in the list.
+     * @return number of moves
+     */
+    public int size(){
+
+        return this.size;
+    }
+
+    /**
+     * Returns the score of a move without making the move.
+     * @param i index of the move
+     * @return score
+     */
+    public int getScore(int i){
+
+        return Move.scoreOf(this.moves[this.starts[i]]);
+    }
+
+    /**
+     * Returns a move of the list.
+     * @param i index of the move
+     * @return move
+     */
+    public Move get(int i){
+
+        return Move.read(this.moves, this.starts[i]);
+    }
+
+    /**
+     * Empties the list, keeping the arrays to use again.
+     */
+    protected void clear(){
+        this.size = 0;
+        this.used = 0;
+    }
+}
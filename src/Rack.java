@@ -0,0 +1,113 @@
+package scrabble;
+
+/**
+ * Rack class holds the tiles of a tray as a count of each letter so the
+ * solvers can take and put back tiles without copying the tray. Slots 0 to
+ * 25 are the letters a to z and slot 26 is the blank. Tiles with the same
+ * letter are the same to the solvers, the actual tile is only picked out of
+ * the tray once the word to play is chosen.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class Rack {
+
+    public static final int BLANK = 26;
+    public static final int SLOTS = 27;
+
+    private int[] counts = new int[SLOTS];
+    private Tile[] tiles = new Tile[SLOTS];
+    private Tile[] blanks = new Tile[BLANK];
+    private int size;
+
+    /**
+     * Rack constructor counts the tiles of a tray.
+     * @param tray tray of tiles
+     */
+    public Rack(Tray tray){
+        for(Tile tile: tray.getTray()){
+            int slot = slotOf(tile);
+            if(this.tiles[slot] == null){
+                this.tiles[slot] = tile;
+            }
+            this.counts[slot]++;
+            this.size++;
+        }
+    }
+
+    /**
+     * Returns the slot of a tile, its letter or the blank.
+     * @param tile tile
+     * @return slot from 0 to 26
+     */
+    protected static int slotOf(Tile tile){
+        char letter = tile.getLetter().charAt(0);
+        if(letter == '*'){
+            return BLANK;
+        }
+        return Character.toLowerCase(letter) - 'a';
+    }
+
+    /**
+     * Returns how many tiles are left in a slot.
+     * @param slot slot from 0 to 26
+     * @return number of tiles
+     */
+    protected int count(int slot){
+
+        return this.counts[slot];
+    }
+
+    /**
+     * Returns the number of tiles left in the rack.
+     * @return number of tiles
+     */
+    protected int size(){
+
+        return this.size;
+    }
+
+    /**
+     * Takes a tile out of a slot.
+     * @param slot slot from 0 to 26
+     */
+    protected void take(int slot){
+        this.counts[slot]--;
+        this.size--;
+    }
+
+    /**
+     * Puts a tile taken out of a slot back.
+     * @param slot slot from 0 to 26
+     */
+    protected void put(int slot){
+        this.counts[slot]++;
+        this.size++;
+    }
+
+    /**
+     * Returns a tile for a letter slot. Every tile with the same letter is
+     * played as the same tile until the move is placed.
+     * @param slot slot from 0 to 25
+     * @return tile with the letter
+     */
+    protected Tile getTile(int slot){
+
+        return this.tiles[slot];
+    }
+
+    /**
+     * Returns the blank played as a letter. The tile is made the first time
+     * the letter is asked for and used again after that.
+     * @param letter lower case letter the blank stands for
+     * @return blank tile with the letter
+     */
+    protected Tile blankAs(char letter){
+        int slot = letter - 'a';
+        if(this.blanks[slot] == null){
+            Tile blank = this.tiles[BLANK].copyTile();
+            blank.setLetter(String.valueOf(letter));
+            this.blanks[slot] = blank;
+        }
+        return this.blanks[slot];
+    }
+}
@@ -12,17 +12,6 @@ public class Score {
     private List<BoardCell> highScoreWord;
     private int wordHighScore;
     private int currentScore = 0;
-    private List<Direction> directions = new LinkedList<>();
-
-    /**
-     * Score constructor adds directions to a list.
-     */
-    public Score(){
-        directions.add(Direction.UP);
-        directions.add(Direction.DOWN);
-        directions.add(Direction.LEFT);
-        directions.add(Direction.RIGHT);
-    }
 
     /**
      * Sets the full word that is the highest scoring.
@@ -106,70 +95,19 @@ public class Score {
     }
 
     /**
-     * Scores the word placed by the human.
+     * Scores the word placed by the human. The tiles are already on the
+     * board, so they are left out of the score grid and scored as the move.
      * @param word full word that was made
      * @param tray player tray
-     * @param direction direction word was built in
      * @param board board
      * @param lettersPlaced actual tiles placed
+     * @return score of the word
      */
-    protected int scoreWord(List<BoardCell> word, Tray tray,
-                            Direction direction, Board board,
+    protected int scoreWord(List<BoardCell> word, Tray tray, Board board,
                             List<BoardCell> lettersPlaced){
-        int wordScore = 0;
-        int wordMulti = 1;
-        int bingo = 50;
-        for(BoardCell cell: word){
-            int letterScore;
-            letterScore = cell.getTile().getPointVal();
-            letterScore *= cell.getLetterMultiplier();
-            wordScore += letterScore;
-            wordMulti *= cell.getWordMultiplier();
-            board.getCell(cell.getXCell(),cell.getYCell()).setWordMultipier(1);
-            board.getCell(cell.getXCell(),
-                    cell.getYCell()).setLetterMultiplier(1);
-        }
-        wordScore *= wordMulti;
-        if(tray.getTray().size() == 0){
-            wordScore += bingo;
-        }
-        wordScore += addCrossWords(board, direction, lettersPlaced, word);
-        return wordScore;
+        long[] move = new long[Move.longsFor(word.size())];
+        Move.pack(word, lettersPlaced, 0, move, 0);
+        return new ScoreGrid(board, lettersPlaced).score(move, 0,
+                tray.getTray().size());
     }
-
-    /**
-     * Adds the value of the letters made from crosswords
-     * @param board board
-     * @param direction direction of main word being built
-     * @param lettersPlaced letters placed by the player
-     * @param fullWord full word made
-     */
-    protected int addCrossWords(Board board, Direction direction,
-                                 List<BoardCell> lettersPlaced,
-                                 List<BoardCell> fullWord){
-        int crossScore = 0;
-        boolean addedSameTile = false;
-        Direction reverse = Direction.reverseDirection(direction);
-        for(BoardCell letter: lettersPlaced){
-            for(Direction d : this.directions){
-                if(d != reverse && d != direction){
-                    BoardCell next = board.getNextCell(letter, d);
-                    if(next != null && next.hasTile() && !addedSameTile){
-                        crossScore += letter.getTile().getPointVal() *
-                                letter.getLetterMultiplier();
-                        addedSameTile = true;
-                    }
-                    while(next != null &&
-                            !fullWord.contains(next) && next.hasTile()){
-                        crossScore += next.getTile().getPointVal();
-                        next = board.getNextCell(next,d);
-                    }
-                }
-            }
-            addedSameTile = false;
-        }
-        return crossScore;
-    }
-
-
 }
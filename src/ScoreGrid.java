@@ -0,0 +1,228 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * ScoreGrid class keeps what is needed to score a move in arrays with one
+ * entry per square: the points of the tile on it, its letter and word
+ * multipliers, and the points of the tiles in the cross word through it
+ * for words built across and down. A square only has multipliers while it
+ * is empty, so the board never has to be changed to use them up. A move
+ * packed like a Move is scored in one pass over its letters without
+ * looking at the board or making anything.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class ScoreGrid {
+
+    private static final int ACROSS = 0;
+    private static final int DOWN = 1;
+    private static final int NO_CROSS_WORD = -1;
+    private static final int BINGO = 50;
+    private static final int WORD_PREMIUM = 4;
+
+    private BoardCell[][] grid;
+    private boolean[] unplayed;
+    private int rows;
+    private int cols;
+    private int[] letterPoints;
+    private int[] points;
+    private int[] letterMultipliers;
+    private int[] wordMultipliers;
+    private int[][] crossSums;
+
+    /**
+     * ScoreGrid constructor works out every square of a board.
+     * @param board board being scored on
+     */
+    public ScoreGrid(Board board){
+
+        this(board, Collections.emptyList());
+    }
+
+    /**
+     * ScoreGrid constructor works out every square of a board as if some
+     * tiles on it were not there yet, for scoring a move whose tiles are
+     * already on the board.
+     * @param board board being scored on
+     * @param placed cells of the tiles being scored
+     */
+    public ScoreGrid(Board board, List<BoardCell> placed){
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.grid = new BoardCell[this.rows][this.cols];
+        this.unplayed = new boolean[this.rows * this.cols];
+        this.letterPoints = board.getBag().getLetterPoints();
+        this.points = new int[this.rows * this.cols];
+        this.letterMultipliers = new int[this.rows * this.cols];
+        this.wordMultipliers = new int[this.rows * this.cols];
+        this.crossSums = new int[2][this.rows * this.cols];
+        for(BoardCell cell: board.getBoard()){
+            this.grid[cell.getYCell()][cell.getXCell()] = cell;
+        }
+        for(BoardCell cell: placed){
+            this.unplayed[cell.getYCell() * this.cols + cell.getXCell()] =
+                    true;
+        }
+        for(int y = 0; y < this.rows; y++){
+            for(int x = 0; x < this.cols; x++){
+                this.updateCell(x, y);
+            }
+        }
+    }
+
+    /**
+     * Works out the points, multipliers and cross word points of a square.
+     * @param x x coord
+     * @param y y coord
+     */
+    protected void updateCell(int x, int y){
+        int index = y * this.cols + x;
+        BoardCell cell = this.grid[y][x];
+        if(this.hasTile(x, y)){
+            this.points[index] = cell.getTile().getPointVal();
+            this.letterMultipliers[index] = 1;
+            this.wordMultipliers[index] = 1;
+            this.crossSums[ACROSS][index] = NO_CROSS_WORD;
+            this.crossSums[DOWN][index] = NO_CROSS_WORD;
+            return;
+        }
+        this.points[index] = 0;
+        this.letterMultipliers[index] = cell.getLetterMultiplier();
+        this.wordMultipliers[index] = cell.getWordMultiplier();
+        this.crossSums[ACROSS][index] = this.crossSum(x, y, 0, 1);
+        this.crossSums[DOWN][index] = this.crossSum(x, y, 1, 0);
+    }
+
+    /**
+     * Returns the points of the tiles in the cross word through a square.
+     * @param x x coord
+     * @param y y coord
+     * @param across true for words built across, false for down
+     * @return points, or -1 if there is no cross word
+     */
+    protected int getCrossSum(int x, int y, boolean across){
+
+        return this.crossSums[across ? ACROSS : DOWN][y * this.cols + x];
+    }
+
+    /**
+     * Adds up the points of the tiles on both sides of an empty square in
+     * one direction.
+     * @param x x coord
+     * @param y y coord
+     * @param dx x step of the cross word
+     * @param dy y step of the cross word
+     * @return points, or -1 if there are no tiles on either side
+     */
+    private int crossSum(int x, int y, int dx, int dy){
+        if(!this.hasTile(x - dx, y - dy) && !this.hasTile(x + dx, y + dy)){
+            return NO_CROSS_WORD;
+        }
+        int sum = 0;
+        for(int cx = x - dx, cy = y - dy; this.hasTile(cx, cy);
+            cx -= dx, cy -= dy){
+            sum += this.grid[cy][cx].getTile().getPointVal();
+        }
+        for(int cx = x + dx, cy = y + dy; this.hasTile(cx, cy);
+            cx += dx, cy += dy){
+            sum += this.grid[cy][cx].getTile().getPointVal();
+        }
+        return sum;
+    }
+
+    /**
+     * Scores a move packed like a Move. The letters placed are worth their
+     * points times the letter multiplier, the main word is multiplied by
+     * the word multipliers under the letters placed, and each letter placed
+     * next to tiles adds its cross word. Using all seven tiles adds the
+     * bingo.
+     * @param move array the move is packed in
+     * @param at index of the header of the move
+     * @param tilesLeft number of tiles left after the move is played
+     * @return score of the move
+     */
+    protected int score(long[] move, int at, int tilesLeft){
+        long header = move[at];
+        int length = Move.lengthOf(header);
+        int square = Move.yOf(header) * this.cols + Move.xOf(header);
+        int step = 1;
+        int[] sums = this.crossSums[ACROSS];
+        if(!Move.acrossOf(header)){
+            step = this.cols;
+            sums = this.crossSums[DOWN];
+        }
+        int wordScore = 0;
+        int wordMulti = 1;
+        int crossScore = 0;
+        for(int i = 0; i < length; i++, square += step){
+            if(!Move.placedOf(move, at, i)){
+                wordScore += this.points[square];
+                continue;
+            }
+            int letterScore = 0;
+            if(!Move.blankOf(move, at, i)){
+                letterScore = this.letterPoints[Move.letterOf(move, at, i)] *
+                        this.letterMultipliers[square];
+            }
+            wordScore += letterScore;
+            wordMulti *= this.wordMultipliers[square];
+            if(sums[square] != NO_CROSS_WORD){
+                crossScore += letterScore + sums[square];
+            }
+        }
+        wordScore *= wordMulti;
+        if(tilesLeft == 0){
+            wordScore += BINGO;
+        }
+        return wordScore + crossScore;
+    }
+
+    /**
+     * Weighs the premium squares that words through a square could use,
+     * the empty squares within reach of it along its row and column. Word
+     * multipliers count for more than letter multipliers.
+     * @param x x coord
+     * @param y y coord
+     * @param reach how many squares away a word could reach
+     * @return weight of the premium squares, 0 if there are none
+     */
+    protected int premiumNear(int x, int y, int reach){
+        int weight = this.premium(y * this.cols + x);
+        for(int d = 1; d <= reach; d++){
+            if(x - d >= 0){
+                weight += this.premium(y * this.cols + x - d);
+            }
+            if(x + d < this.cols){
+                weight += this.premium(y * this.cols + x + d);
+            }
+            if(y - d >= 0){
+                weight += this.premium((y - d) * this.cols + x);
+            }
+            if(y + d < this.rows){
+                weight += this.premium((y + d) * this.cols + x);
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Weighs the multipliers of one square.
+     * @param index square index
+     * @return weight, 0 for a plain or covered square
+     */
+    private int premium(int index){
+        return (this.wordMultipliers[index] - 1) * WORD_PREMIUM +
+                this.letterMultipliers[index] - 1;
+    }
+
+    /**
+     * Checks if a square is on the board and has a tile that counts.
+     * @param x x coord
+     * @param y y coord
+     * @return true or false
+     */
+    private boolean hasTile(int x, int y){
+        return x >= 0 && y >= 0 && x < this.cols && y < this.rows &&
+                this.grid[y][x].hasTile() && !this.unplayed[y * this.cols + x];
+    }
+}
@@ -0,0 +1,248 @@
+package scrabble;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * SelfPlay class plays whole games between two computer players without
+ * the GUI. Every game draws its tiles from a bag seeded with its own seed,
+ * so a game can be played again exactly. Games are played on a pool of
+ * worker threads sharing one dictionary and each game is printed as one
+ * line, in seed order, as soon as it and the games before it are done:
+ * seed, first and second player's final score, winner (1, 2 or 0 for a
+ * tie), first and second player's bingos, then each move as
+ * x,y,a|d,word,score or - for a pass, ex:
+ * java -cp solver.jar scrabble.SelfPlay sowpods.txt 1000 > games.txt
+ * At the end the games per second are printed to standard error.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class SelfPlay {
+
+    private static final String BOARD = "scrabble_board.txt";
+    private static final int GAMES_PER_WORKER = 4;
+    private static final int BINGO_TILES = 7;
+    private static final int PLAYERS = 2;
+
+    private DictionaryHandle handle;
+    private Gaddag gaddag;
+    private Board empty;
+    private int workers;
+
+    /**
+     * SelfPlay constructor.
+     * @param handle handle of the dictionary of words
+     * @param gaddag gaddag to solve with or null
+     * @param empty empty board every game starts from
+     * @param workers number of games played at once
+     */
+    public SelfPlay(DictionaryHandle handle, Gaddag gaddag, Board empty,
+                    int workers){
+        this.handle = handle;
+        this.gaddag = gaddag;
+        this.empty = empty;
+        this.workers = workers;
+    }
+
+    /**
+     * Player class holds one player's solver, tray and bingos. The score is
+     * kept by the solver.
+     */
+    private static class Player {
+
+        private Solver solver;
+        private Tray tray = new Tray(new LinkedList<>());
+        private int bingos;
+
+        /**
+         * Player constructor.
+         * @param solver solver that finds the player's moves
+         */
+        Player(Solver solver){
+
+            this.solver = solver;
+        }
+
+        /**
+         * Returns the player's score.
+         * @return score
+         */
+        int score(){
+
+            return this.solver.getScore().getCurrentScore();
+        }
+    }
+
+    /**
+     * Reads the standard empty board.
+     * @return empty board
+     * @throws IOException because the board is read from a file
+     */
+    protected static Board readEmptyBoard() throws IOException {
+        InputStream boardText = SelfPlay.class.getClassLoader().
+                getResourceAsStream(BOARD);
+        assert boardText != null;
+        Scanner scanner = new Scanner(boardText);
+        int size = scanner.nextInt();
+        return Solver.readInBoard(scanner, size);
+    }
+
+    /**
+     * Plays games one after another from a seed and prints each one in
+     * order. Only a few games per worker are played ahead of the one being
+     * printed.
+     * @param seed seed of the first game, the next games count up from it
+     * @param games number of games
+     * @param out where the games are printed
+     * @param report where the games per second are printed
+     */
+    public void run(long seed, int games, PrintStream out,
+                    PrintStream report){
+        ExecutorService executor = Executors.newFixedThreadPool(this.workers);
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        long start = System.nanoTime();
+        try{
+            for(int game = 0; game < games; game++){
+                long gameSeed = seed + game;
+                pending.add(executor.submit(() -> this.play(gameSeed)));
+                if(pending.size() >= this.workers * GAMES_PER_WORKER){
+                    out.println(result(pending.poll()));
+                }
+            }
+            while(!pending.isEmpty()){
+                out.println(result(pending.poll()));
+            }
+        }finally{
+            executor.shutdownNow();
+        }
+        out.flush();
+        double seconds = (System.nanoTime() - start) / 1000000000.0;
+        report.printf("%d games in %.2f s, %.2f games/sec%n", games,
+                seconds, games / seconds);
+    }
+
+    /**
+     * Waits for a game to finish.
+     * @param game game being played
+     * @return line printed for the game
+     */
+    private static String result(Future<String> game){
+        try{
+            return game.get();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted playing games", e);
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Game could not be played",
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Plays one game. A Match decides whose turn it is, when the game is
+     * over and how the tiles left are settled, the same as in the GUI
+     * game.
+     * @param seed seed of the bag
+     * @return line printed for the game
+     */
+    protected String play(long seed){
+        Board board = this.empty.copyBoard();
+        board.getBag().setRandom(new SplittableRandom(seed));
+        Dictionary tree = this.handle.getDictionary();
+        BoardState state = new BoardState(board, tree);
+        Player[] players = new Player[PLAYERS];
+        Tray[] trays = new Tray[PLAYERS];
+        Score[] scores = new Score[PLAYERS];
+        for(int i = 0; i < PLAYERS; i++){
+            Solver solver = new Solver(tree, this.gaddag);
+            solver.setBoardState(state);
+            players[i] = new Player(solver);
+            board.getBag().fillTray(players[i].tray);
+            trays[i] = players[i].tray;
+            scores[i] = solver.getScore();
+        }
+        Match match = new Match(board, trays, scores);
+        StringBuilder moves = new StringBuilder();
+        while(!match.isOver()){
+            String move = this.move(players[match.onMove()], board, state);
+            moves.append(' ').append(move);
+            if(move.equals("-")){
+                match.passed();
+            }else{
+                match.played();
+            }
+        }
+        int winner = match.settle();
+        return seed + "\t" + players[0].score() + "\t" + players[1].score() +
+                "\t" + winner + "\t" + players[0].bingos + "\t" +
+                players[1].bingos + "\t" + moves.toString().trim();
+    }
+
+    /**
+     * Has a player make their best move and puts it on the board. On an
+     * empty board the only anchor is the center square.
+     * @param player player on move
+     * @param board board being played on
+     * @param state anchors and cross checks of the board
+     * @return move as x,y,a|d,word,score or - for a pass
+     */
+    private String move(Player player, Board board, BoardState state){
+        Score score = player.solver.getScore();
+        score.setHighScore(0);
+        score.setHighScoreWord(null);
+        score.setWordToPlay(null);
+        List<BoardCell> anchors = state.getAnchors();
+        if(anchors.isEmpty()){
+            BoardCell center = board.getCell((board.getCols() - 1) / 2,
+                    (board.getRows() - 1) / 2);
+            if(!center.hasTile()){
+                anchors = Collections.singletonList(center);
+            }
+        }
+        player.solver.setBoardAnchors(anchors);
+        List<BoardCell> placed = player.solver.solve(board, player.tray);
+        if(placed == null){
+            return "-";
+        }
+        Move move = Move.of(score.getHighScoreWord(), placed,
+                score.getWordHighScore());
+        player.solver.placeWord(board);
+        state.update(placed);
+        score.addToScore(move.getScore());
+        if(placed.size() == BINGO_TILES){
+            player.bingos++;
+        }
+        board.getBag().fillTray(player.tray);
+        return move.getX() + "," + move.getY() + "," +
+                (move.isAcross() ? "a" : "d") + "," + move.getWord() + "," +
+                move.getScore();
+    }
+
+    /**
+     * Main plays the games. The dictionary is loaded the same way as for
+     * the Solver and --gaddag, --threads and --seed can follow the number
+     * of games.
+     * @param args dictionary file, number of games and options
+     * @throws IOException because the board is read from a file
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2){
+            System.out.println("Need a dictionary and a number of games!");
+            return;
+        }
+        DictionaryHandle tree = Solver.loadDictionary(args[0], args);
+        Gaddag gaddag = null;
+        if(Arrays.asList(args).contains("--gaddag")){
+            gaddag = Solver.loadGaddag(args[0], tree);
+        }
+        int threads = Solver.optionValue(args, "--threads",
+                Runtime.getRuntime().availableProcessors());
+        int seed = Solver.optionValue(args, "--seed", 0);
+        SelfPlay selfPlay = new SelfPlay(tree, gaddag, readEmptyBoard(),
+                threads);
+        selfPlay.run(seed, Integer.parseInt(args[1]), System.out,
+                System.err);
+    }
+}
@@ -0,0 +1,342 @@
+package scrabble;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulation class picks a move by playing out what could happen after it
+ * rather than by its score alone. The best scoring moves are each played
+ * on a copy of the board, the opponent is dealt a random rack from the
+ * tiles the player hasn't seen and both sides then play their best move
+ * for a few turns. The move that leaves the player furthest ahead on
+ * average is picked. Rollout n of every move uses the same seed so the
+ * moves are compared over the same racks, and the rollouts are shared out
+ * across worker threads until the time budget runs out. The worker threads
+ * are kept from move to move until the simulation is shut down.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class Simulation {
+
+    private static final int PLIES = 2;
+    protected static final int MAX_ROLLOUTS = 1000;
+
+    private DictionaryHandle handle;
+    private Gaddag gaddag;
+    private int candidates;
+    private long budget;
+    private int workers;
+    private long seed = new SplittableRandom().nextLong();
+    private volatile boolean cancelled;
+    private int rollouts;
+    private Set<Solver> solvers = ConcurrentHashMap.newKeySet();
+    private ExecutorService executor;
+
+    /**
+     * Simulation constructor.
+     * @param tree dictionary of words
+     * @param gaddag gaddag to solve with or null
+     * @param candidates number of the best scoring moves played out
+     * @param budget time budget in milliseconds
+     * @param workers number of rollouts played at once
+     */
+    public Simulation(Dictionary tree, Gaddag gaddag, int candidates,
+                      long budget, int workers){
+        this(DictionaryHandle.of(tree), gaddag, candidates, budget, workers);
+    }
+
+    /**
+     * Simulation constructor with a dictionary from a registry. The
+     * dictionary is asked for once each time a move is picked.
+     * @param handle handle of the dictionary
+     * @param gaddag gaddag to solve with or null
+     * @param candidates number of the best scoring moves played out
+     * @param budget time budget in milliseconds
+     * @param workers number of rollouts played at once
+     */
+    public Simulation(DictionaryHandle handle, Gaddag gaddag, int candidates,
+                      long budget, int workers){
+        this.handle = handle;
+        this.gaddag = gaddag;
+        this.candidates = candidates;
+        this.budget = budget;
+        this.workers = workers;
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the seed the racks of the rollouts are drawn with.
+     * @param seed seed
+     */
+    protected void setSeed(long seed){
+
+        this.seed = seed;
+    }
+
+    /**
+     * Returns how many rollouts were played for the last move picked.
+     * @return number of rollouts
+     */
+    protected int getRollouts(){
+
+        return this.rollouts;
+    }
+
+    /**
+     * Stops picking a move, from any thread. The solves of the rollouts
+     * being played are cancelled and the rollouts played so far are used.
+     */
+    protected void cancel(){
+        this.cancelled = true;
+        for(Solver solver: this.solvers){
+            solver.cancel();
+        }
+    }
+
+    /**
+     * Lets a move be picked again after it was cancelled. Picking a move
+     * doesn't reset it itself, so a cancel made while the moves were being
+     * found still counts.
+     */
+    protected void resetCancel(){
+
+        this.cancelled = false;
+    }
+
+    /**
+     * Stops the threads the rollouts are played on. Must be called when
+     * the simulation won't pick any more moves.
+     */
+    protected void shutdown(){
+        this.cancel();
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Returns the best scoring moves of a list, best first, each move only
+     * once. Moves with the same score are in alphabetical order like the
+     * Solver picks them.
+     * @param moves every move on a position
+     * @param count number of moves wanted
+     * @return best moves
+     */
+    protected static List<Move> bestMoves(MoveList moves, int count){
+        Integer[] order = new Integer[moves.size()];
+        for(int i = 0; i < order.length; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> moves.getScore(b) - moves.getScore(a));
+        List<Move> best = new ArrayList<>();
+        Set<Move> seen = new HashSet<>();
+        for(int i = 0; i < order.length; i++){
+            Move move = moves.get(order[i]);
+            if(best.size() == count &&
+                    move.getScore() < best.get(count - 1).getScore()){
+                break;
+            }
+            if(seen.add(move)){
+                best.add(move);
+            }
+        }
+        best.sort((a, b) -> a.getScore() != b.getScore() ?
+                b.getScore() - a.getScore() :
+                a.getWord().compareTo(b.getWord()));
+        return best.subList(0, Math.min(count, best.size()));
+    }
+
+    /**
+     * Picks the move to play out of every move on a position. With only
+     * one candidate, or if no rollout finished in time, the best scoring
+     * move is picked. The board and tray are copied once here and the
+     * workers only copy that snapshot, so nothing they do touches the
+     * board being played on.
+     * @param board board being played on
+     * @param tray player's tray
+     * @param moves every move the player could make
+     * @return move to play or null if there is none
+     */
+    public Move choose(Board board, Tray tray, MoveList moves){
+        this.rollouts = 0;
+        List<Move> best = bestMoves(moves, this.candidates);
+        if(best.size() < 2){
+            return best.isEmpty() ? null : best.get(0);
+        }
+        long[] spreads = new long[best.size()];
+        int[] played = new int[best.size()];
+        Dictionary tree = this.handle.getDictionary();
+        Board snapshot = board.copyBoard();
+        Tray trayCopy = tray.copyTray();
+        TilesBag unseen = snapshot.getBag().unseenBy(snapshot, trayCopy);
+        long deadline = System.nanoTime() + this.budget * 1000000;
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>();
+        try{
+            for(int i = 0; i < this.workers; i++){
+                running.add(this.executor.submit(() -> this.work(tree,
+                        snapshot, trayCopy, unseen, best, deadline, next,
+                        spreads, played)));
+            }
+            for(Future<?> worker: running){
+                worker.get();
+            }
+        }catch(InterruptedException e){
+            this.cancel();
+            Thread.currentThread().interrupt();
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Move could not be played out",
+                    e.getCause());
+        }finally{
+            for(Future<?> worker: running){
+                worker.cancel(true);
+            }
+        }
+        return this.pick(best, spreads, played);
+    }
+
+    /**
+     * Plays rollouts one after another, taking the next one each time,
+     * until they run out or the time is up. The worker's solver is kept
+     * where cancel can reach it while it plays.
+     * @param tree dictionary
+     * @param board snapshot of the board being played on
+     * @param tray snapshot of the player's tray
+     * @param unseen tiles the player hasn't seen
+     * @param best moves being played out
+     * @param deadline when the time budget runs out
+     * @param next number of the next rollout
+     * @param spreads total spread of each move's rollouts
+     * @param played number of rollouts of each move
+     */
+    private void work(Dictionary tree, Board board, Tray tray,
+                      TilesBag unseen, List<Move> best, long deadline,
+                      AtomicInteger next, long[] spreads, int[] played){
+        Solver solver = new Solver(tree, this.gaddag);
+        this.solvers.add(solver);
+        if(this.cancelled){
+            solver.cancel();
+        }
+        try{
+            int limit = best.size() * MAX_ROLLOUTS;
+            for(int job = next.getAndIncrement(); job < limit;
+                job = next.getAndIncrement()){
+                int move = job % best.size();
+                Integer spread = this.rollout(tree, solver, board, tray,
+                        unseen, best.get(move), this.seed + job / best.size(),
+                        deadline);
+                if(spread == null){
+                    return;
+                }
+                synchronized(spreads){
+                    spreads[move] += spread;
+                    played[move]++;
+                    this.rollouts++;
+                }
+            }
+        }finally{
+            this.solvers.remove(solver);
+        }
+    }
+
+    /**
+     * Plays a move on a copy of the board and then a few turns after it,
+     * the opponent first.
+     * @param tree dictionary
+     * @param solver solver the turns are found with
+     * @param board snapshot of the board being played on
+     * @param tray snapshot of the player's tray
+     * @param unseen tiles the player hasn't seen
+     * @param move move being played out
+     * @param seed seed of the racks drawn
+     * @param deadline when the time budget runs out
+     * @return player's points minus the opponent's, or null if time ran out
+     */
+    private Integer rollout(Dictionary tree, Solver solver, Board board,
+                            Tray tray, TilesBag unseen, Move move, long seed,
+                            long deadline){
+        Board copy = board.copyBoard();
+        Tray mine = tray.copyTray();
+        solver.getScore().setWordToPlay(move.toPlacedCells(copy, mine));
+        solver.placeWord(copy);
+        BoardState state = new BoardState(copy, tree);
+        solver.setBoardState(state);
+        TilesBag bag = unseen.copyBag();
+        bag.setRandom(new SplittableRandom(seed));
+        Tray theirs = new Tray(new LinkedList<>());
+        bag.fillTray(theirs);
+        bag.fillTray(mine);
+        int spread = move.getScore();
+        for(int ply = 0; ply < PLIES; ply++){
+            Tray turn = ply % 2 == 0 ? theirs : mine;
+            int points = this.turn(solver, copy, state, turn, bag, deadline);
+            if(points < 0){
+                return null;
+            }
+            spread += ply % 2 == 0 ? -points : points;
+            if(turn.getTray().isEmpty()){
+                break;
+            }
+        }
+        return spread;
+    }
+
+    /**
+     * Plays the best move of one turn of a rollout.
+     * @param solver solver the move is found with
+     * @param board copy of the board
+     * @param state anchors and cross checks of the copy
+     * @param tray tray of the side on move
+     * @param bag tiles left to draw
+     * @param deadline when the time budget runs out
+     * @return points scored, 0 for a pass, or -1 if time ran out
+     */
+    private int turn(Solver solver, Board board, BoardState state,
+                     Tray tray, TilesBag bag, long deadline){
+        long left = (deadline - System.nanoTime()) / 1000000;
+        if(left <= 0 || this.cancelled){
+            return -1;
+        }
+        Score score = solver.getScore();
+        score.setHighScore(0);
+        score.setHighScoreWord(null);
+        score.setWordToPlay(null);
+        solver.setTimeBudget(left);
+        solver.setBoardAnchors(state.getAnchors());
+        List<BoardCell> placed = solver.solve(board, tray);
+        if(!solver.isCompleted()){
+            return -1;
+        }
+        if(placed == null){
+            return 0;
+        }
+        solver.placeWord(board);
+        state.update(placed);
+        bag.fillTray(tray);
+        return score.getWordHighScore();
+    }
+
+    /**
+     * Picks the move with the best average spread. Moves with no rollouts
+     * only count if no move has any, and then the best scoring one wins.
+     * @param best moves played out, best scoring first
+     * @param spreads total spread of each move's rollouts
+     * @param played number of rollouts of each move
+     * @return move to play
+     */
+    private Move pick(List<Move> best, long[] spreads, int[] played){
+        int pick = 0;
+        for(int i = 1; i < best.size(); i++){
+            if(played[i] == 0){
+                continue;
+            }
+            if(played[pick] == 0 || (double) spreads[i] / played[i] >
+                    (double) spreads[pick] / played[pick]){
+                pick = i;
+            }
+        }
+        return best.get(pick);
+    }
+}
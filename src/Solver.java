@@ -3,7 +3,12 @@ package scrabble;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Solver class contains methods and constructor for solver object.
@@ -11,20 +16,62 @@ import java.util.*;
  */
 public class Solver {
 
-    private Trie tree;
+    private static final String COMPILED = ".dict";
+    private static final String COMPILED_GADDAG = ".gaddag";
+    private static final int CLOCK_STEPS = 1023;
+
+    private Dictionary tree;
+    private DictionaryHandle handle;
+    private Gaddag gaddag;
     private Score score;
     private List<Direction> directions = new LinkedList<>();
     private int emptyTiles = 1;
     private List<BoardCell> boardAnchors;
-    private Board copyOfOriginal;
+    private boolean[][] anchorGrid;
+    private BoardCell[][] cellCopies;
+    private CrossChecks crossChecks;
+    private ScoreGrid scoreGrid;
+    private long[] packed = new long[Move.longsFor(Move.MAX_SIZE)];
+    private BoardState boardState;
+    private ForkJoinPool pool;
+    private TopMoves topMoves;
+    private MoveList allMoves;
+    private long budget;
+    private long deadline;
+    private boolean completed = true;
+    private int steps;
+    private AtomicBoolean cancelled = new AtomicBoolean();
 
     /**
      * Solver constructor makes a solver with the given tree and
      * a new score. Also adds each direction to a list.
      * @param tree dictionary
      */
-    public Solver(Trie tree){
-        this.tree = tree;
+    public Solver(Dictionary tree){
+
+        this(DictionaryHandle.of(tree));
+    }
+
+    /**
+     * Solver constructor makes a solver that finds its moves with the
+     * GaddagSolver instead of building words left to right.
+     * @param tree dictionary
+     * @param gaddag GADDAG of the same dictionary
+     */
+    public Solver(Dictionary tree, Gaddag gaddag){
+
+        this(DictionaryHandle.of(tree), gaddag);
+    }
+
+    /**
+     * Solver constructor makes a solver with a dictionary from a handle and
+     * a new score. The dictionary is asked for once at the start of each
+     * solve and let go at the end, so a registry can let go of it between
+     * solves.
+     * @param handle handle of the dictionary
+     */
+    public Solver(DictionaryHandle handle){
+        this.handle = handle;
         directions.add(Direction.UP);
         directions.add(Direction.DOWN);
         directions.add(Direction.LEFT);
@@ -33,11 +80,14 @@ public class Solver {
     }
 
     /**
-     * Sets the copy of the original board.
-     * @param board copy of original board
+     * Solver constructor makes a solver with a dictionary from a handle
+     * that finds its moves with the GaddagSolver.
+     * @param handle handle of the dictionary
+     * @param gaddag GADDAG of the same dictionary
      */
-    protected void setBoardCopy(Board board){
-        this.copyOfOriginal = board;
+    public Solver(DictionaryHandle handle, Gaddag gaddag){
+        this(handle);
+        this.gaddag = gaddag;
     }
 
     /**
@@ -56,6 +106,137 @@ public class Solver {
         this.boardAnchors = anchors;
     }
 
+    /**
+     * Sets the board state the solver takes its cross checks from. Without
+     * one the cross checks are worked out again on every solve.
+     * @param boardState kept up to date board state
+     */
+    protected void setBoardState(BoardState boardState){
+        this.boardState = boardState;
+    }
+
+    /**
+     * Sets the pool the solver splits its anchors across. Without one the
+     * anchors are solved one after another.
+     * @param pool fork join pool or null
+     */
+    protected void setPool(ForkJoinPool pool){
+        this.pool = pool;
+    }
+
+    /**
+     * Has the solver keep the best moves it finds as well as the best one.
+     * @param count number of moves to keep
+     */
+    protected void setTopMoves(int count){
+
+        this.topMoves = new TopMoves(count);
+    }
+
+    /**
+     * Has the solver add every move it finds to a list, in the order they
+     * are found. The list isn't emptied between solves.
+     * @param allMoves list moves are added to or null
+     */
+    protected void setAllMoves(MoveList allMoves){
+
+        this.allMoves = allMoves;
+    }
+
+    /**
+     * Gives each solve a time budget. Anchors are then searched with the
+     * ones near the most premium squares first, and once the time is up
+     * the solve stops and plays the best word found so far. A budget of 0
+     * searches everything, which is the default.
+     * @param millis time budget in milliseconds, or 0 for none
+     */
+    protected void setTimeBudget(long millis){
+
+        this.budget = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Checks if the last solve searched every anchor before its time budget
+     * ran out or it was cancelled. Always true without a budget unless it
+     * was cancelled.
+     * @return true if the search finished
+     */
+    public boolean isCompleted(){
+
+        return this.completed;
+    }
+
+    /**
+     * Stops the solve that is running, from any thread. It ends as if its
+     * time budget ran out, with the best word found so far.
+     */
+    public void cancel(){
+
+        this.cancelled.set(true);
+    }
+
+    /**
+     * Lets the solver search again after it was cancelled. A solve doesn't
+     * reset it itself, so a cancel made before the solve starts still
+     * stops it, and this has to be called before the next move is asked
+     * for instead.
+     */
+    protected void resetCancel(){
+
+        this.cancelled.set(false);
+    }
+
+    /**
+     * Checks if the time budget has run out or the solve was cancelled.
+     * The clock and the cancel flag are only read every so many calls
+     * since this is called for every letter tried. Once the solve has to
+     * stop the search is marked as not completed.
+     * @return true if the solve should stop
+     */
+    protected boolean outOfTime(){
+        if(!this.completed){
+            return true;
+        }
+        if((++this.steps & CLOCK_STEPS) != 0){
+            return false;
+        }
+        if(this.cancelled.get() || (this.budget > 0 &&
+                System.nanoTime() - this.deadline > 0)){
+            this.completed = false;
+        }
+        return !this.completed;
+    }
+
+    /**
+     * Orders anchors so the ones near the most premium squares come first.
+     * Anchors with the same weight stay in row order.
+     * @param anchors anchors of the board
+     * @param reach how far a word from the tray could reach
+     * @return anchors in the order they should be searched
+     */
+    private List<BoardCell> byPremium(List<BoardCell> anchors, int reach){
+        Map<BoardCell, Integer> weights = new HashMap<>();
+        for(BoardCell anchor: anchors){
+            weights.put(anchor, this.scoreGrid.premiumNear(anchor.getXCell(),
+                    anchor.getYCell(), reach));
+        }
+        List<BoardCell> ordered = new ArrayList<>(anchors);
+        ordered.sort((a, b) -> weights.get(b) - weights.get(a));
+        return ordered;
+    }
+
+    /**
+     * Returns the best moves found by the last solve, best first. The list
+     * is empty unless setTopMoves was called first.
+     * @return best moves
+     */
+    public List<Move> getTopMoves(){
+        if(this.topMoves == null){
+            return new ArrayList<>();
+        }
+        return this.topMoves.getMoves();
+    }
+
     /**
      * Returns the score objects current total score.
      * @return current score
@@ -71,7 +252,7 @@ public class Solver {
      * @return new Board object
      * @throws IOException for scanner
      */
-    private static Board readInBoard(Scanner scanner, int size)
+    protected static Board readInBoard(Scanner scanner, int size)
             throws IOException {
 
         StringBuilder boardString = new StringBuilder();
@@ -112,7 +293,7 @@ public class Solver {
      * @param board current board
      * @return new Tray object
      */
-    private Tray buildTray(String tray, Board board){
+    protected Tray buildTray(String tray, Board board){
         List<Tile> trayList = new LinkedList<>();
         for(int i = 0; i < tray.length(); i++){
             Tile tile = board.getBag().getTile(tray.charAt(i));
@@ -124,86 +305,283 @@ public class Solver {
     }
 
     /**
-     * Solves the given scrabble board for the highest scoring word.
+     * Solves the given scrabble board for the highest scoring word. The
+     * dictionary is asked for once and let go of when the solve ends.
+     * @param board board to be solved
+     * @param tray computers tray of letters
+     * @return list of the letters to place.
+     */
+    protected List<BoardCell> solve(Board board, Tray tray){
+        this.tree = this.handle.getDictionary();
+        try{
+            return this.search(board, tray);
+        }finally{
+            this.tree = null;
+            this.crossChecks = null;
+        }
+    }
+
+    /**
+     * Searches the given scrabble board for the highest scoring word. The
+     * board is only read, since tiles are tried in copies of its empty
+     * cells, so it isn't copied.
      * @param board board to be solved
      * @param tray computers tray of letters
      * @return list of the letters to place.
-     * @throws IOException because of copy board
      */
-    protected List<BoardCell> solve(Board board,
-                                    Tray tray) throws IOException {
+    private List<BoardCell> search(Board board, Tray tray){
+
+        this.deadline = System.nanoTime() + this.budget;
+        this.completed = true;
+        if(this.boardState != null){
+            this.crossChecks = this.boardState.getCrossChecks();
+            this.scoreGrid = this.boardState.getScoreGrid();
+        }else{
+            this.crossChecks = new CrossChecks(board, this.tree);
+            this.scoreGrid = new ScoreGrid(board);
+        }
+        if(this.budget > 0){
+            this.boardAnchors = this.byPremium(this.boardAnchors,
+                    tray.getTray().size());
+        }
+        this.anchorGrid = new boolean[board.getRows()][board.getCols()];
+        this.cellCopies = new BoardCell[board.getRows()][board.getCols()];
+        for(BoardCell anchor: this.boardAnchors){
+            this.anchorGrid[anchor.getYCell()][anchor.getXCell()] = true;
+        }
+        if(this.pool != null){
+            this.solveParallel(board, tray);
+        }else if(this.gaddag != null){
+            new GaddagSolver(this.gaddag, this).solve(board, tray,
+                    this.boardAnchors, this.crossChecks);
+        }else{
+            this.buildFromAnchors(board, tray);
+        }
+        if(score.getWordToPlay() != null){
+            Move best = Move.of(this.score.getHighScoreWord(),
+                    this.score.getWordToPlay(), this.score.getWordHighScore());
+            this.score.setWordToPlay(best.toPlacedCells(board, tray));
+        }else{
+            return null;
+        }
+
+        return this.score.getWordToPlay();
+    }
+
+    /**
+     * Solves each anchor and direction as its own task in the pool. Each
+     * task keeps its own high score word and they are put together in the
+     * same order the anchors are solved in one after another, so the
+     * result is the same as solving without the pool.
+     * @param board board being solved
+     * @param tray computers tray of letters
+     */
+    private void solveParallel(Board board, Tray tray){
+        List<BoardCell> anchors = this.boardAnchors;
+        if(this.gaddag != null){
+            GaddagSolver gaddagSolver = new GaddagSolver(this.gaddag, this);
+            gaddagSolver.prepare(board, tray, this.boardAnchors,
+                    this.crossChecks);
+            anchors = gaddagSolver.getAnchorCells();
+        }
+        Solver best = this.pool.invoke(new AnchorTask(this, board, tray,
+                anchors, 0, anchors.size() * 2));
+        this.merge(best);
+    }
+
+    /**
+     * Makes a solver for one task that shares the dictionary, anchors and
+     * cross checks but has its own score and top moves.
+     * @return new solver
+     */
+    private Solver worker(){
+        Solver worker = new Solver(this.handle, this.gaddag);
+        worker.tree = this.tree;
+        worker.boardAnchors = this.boardAnchors;
+        worker.anchorGrid = this.anchorGrid;
+        worker.cellCopies = new BoardCell[this.anchorGrid.length]
+                [this.anchorGrid[0].length];
+        worker.crossChecks = this.crossChecks;
+        worker.scoreGrid = this.scoreGrid;
+        worker.budget = this.budget;
+        worker.deadline = this.deadline;
+        worker.cancelled = this.cancelled;
+        worker.steps = CLOCK_STEPS;
+        if(this.topMoves != null){
+            worker.setTopMoves(this.topMoves.getCapacity());
+        }
+        if(this.allMoves != null){
+            worker.setAllMoves(new MoveList());
+        }
+        return worker;
+    }
+
+    /**
+     * Takes in the best word and top moves of a worker, as if they were
+     * found after everything this solver found so far.
+     * @param other worker solver
+     */
+    private void merge(Solver other){
+        this.completed &= other.completed;
+        this.offer(other.score);
+        if(this.topMoves != null){
+            this.topMoves.offerAll(other.topMoves);
+        }
+        if(this.allMoves != null){
+            this.allMoves.addAll(other.allMoves);
+        }
+    }
+
+    /**
+     * Solves one anchor in one direction. Even tasks build down and odd
+     * tasks build across.
+     * @param board board being solved
+     * @param tray computers tray of letters
+     * @param anchors anchors being solved
+     * @param task task number
+     */
+    private void solveTask(Board board, Tray tray, List<BoardCell> anchors,
+                           int task){
+        BoardCell anchor = anchors.get(task / 2);
+        boolean across = task % 2 == 1;
+        if(this.gaddag != null){
+            GaddagSolver gaddagSolver = new GaddagSolver(this.gaddag, this);
+            gaddagSolver.prepare(board, tray, this.boardAnchors,
+                    this.crossChecks);
+            gaddagSolver.solveAnchor(anchor, across);
+        }else{
+            Direction direction = across ? Direction.LEFT : Direction.UP;
+            buildLeft(anchor.copyCell(), board, wordBuffer(board), direction,
+                    new Rack(tray), wordBuffer(board));
+        }
+    }
+
+    /**
+     * AnchorTask class solves a range of anchor tasks by splitting it in
+     * half until each task is solved on its own.
+     */
+    private static class AnchorTask extends RecursiveTask<Solver> {
+
+        private static final long serialVersionUID = 1L;
 
-        Board copy = board.copyBoard(board.toString());
+        private Solver solver;
+        private Board board;
+        private Tray tray;
+        private List<BoardCell> anchors;
+        private int from;
+        private int to;
+
+        /**
+         * AnchorTask constructor makes a task for a range of tasks.
+         * @param solver solver being run
+         * @param board board being solved
+         * @param tray computers tray of letters
+         * @param anchors anchors being solved
+         * @param from first task
+         * @param to one past the last task
+         */
+        AnchorTask(Solver solver, Board board, Tray tray,
+                   List<BoardCell> anchors, int from, int to){
+            this.solver = solver;
+            this.board = board;
+            this.tray = tray;
+            this.anchors = anchors;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Solves the range and returns the worker holding the best word
+         * found in it.
+         * @return worker solver
+         */
+        @Override
+        protected Solver compute(){
+            Solver worker = this.solver.worker();
+            if(this.to - this.from <= 1){
+                if(this.from < this.to){
+                    worker.solveTask(this.board, this.tray, this.anchors,
+                            this.from);
+                }
+                return worker;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            AnchorTask first = new AnchorTask(this.solver, this.board,
+                    this.tray, this.anchors, this.from, middle);
+            AnchorTask second = new AnchorTask(this.solver, this.board,
+                    this.tray, this.anchors, middle, this.to);
+            first.fork();
+            Solver secondBest = second.compute();
+            worker.merge(first.join());
+            worker.merge(secondBest);
+            return worker;
+        }
+    }
+
+    /**
+     * Builds words from each anchor point, first down and then across.
+     * @param board board being solved
+     * @param tray computers tray of letters
+     */
+    private void buildFromAnchors(Board board, Tray tray){
+        Rack rack = new Rack(tray);
         Direction direction;
-        List<BoardCell> tilesPlaced = null;
+        List<BoardCell> posWord = wordBuffer(board);
+        List<BoardCell> tilesPlaced = wordBuffer(board);
         for(BoardCell cell: this.boardAnchors){
-            StringBuilder partialWord = new StringBuilder();
-            List<BoardCell> posWord = new LinkedList<>();
-            tilesPlaced = new LinkedList<>();
+            if(this.outOfTime()){
+                return;
+            }
             BoardCell cellCopy = cell.copyCell();
             direction = Direction.UP;
-            buildLeft(cellCopy, copy, partialWord, posWord, direction, tray,
+            buildLeft(cellCopy, board, posWord, direction, rack,
                     tilesPlaced);
             direction = Direction.LEFT;
             posWord.clear();
             tilesPlaced.clear();
-            if(partialWord.length() > 0){
-                partialWord.delete(0, partialWord.length());
-            }
             cellCopy = cell.copyCell();
-            buildLeft(cellCopy, copy, partialWord, posWord, direction, tray,
+            buildLeft(cellCopy, board, posWord, direction, rack,
                     tilesPlaced);
         }
-        if(tilesPlaced != null && score.getWordToPlay() != null){
-            for(BoardCell placed: score.getWordToPlay()){
-                if(!placed.getTile().getLetter().equals(placed
-                        .getTile().getLetter().toLowerCase())){
-                    tray.getTray().remove(tray.getTile("*"));
-                }else{
-                    tray.getTray().remove(placed.getTile());
-                }
-
-            }
-        }else{
-            return null;
-        }
-
-        return this.score.getWordToPlay();
     }
 
 
     /**
-     * Checks if the letter in the given position is legal.
+     * Makes a list to build words in that is long enough for any word on
+     * the board, so adding and taking off letters never makes anything.
      * @param board board being solved
-     * @param cell cell with tile being placed
-     * @param buildDirection direction the word is being built in
-     * @return true or false for pass or fail
+     * @return empty list
      */
-    private boolean crossCheck(Board board, BoardCell cell,
-                              Direction buildDirection){
-        Direction reverse = Direction.reverseDirection(buildDirection);
-        StringBuilder word = new StringBuilder();
-        word.append(cell.getTile().getLetter());
-        boolean hasWord = false;
-        for(Direction d : directions){
-            if(d != reverse && d != buildDirection){
-                BoardCell next = board.getNextCell(cell, d);
-                while(next != null && next.hasTile()){
-                    hasWord = true;
-                    if(d == Direction.UP || d == Direction.LEFT){
-                        word.insert(0, next.getTile().getLetter());
-                    }else{
-                        word.append(next.getTile().getLetter());
-                    }
-                    next = board.getNextCell(next,d);
-                }
-            }
-        }
-        if(hasWord){
-            return this.tree.search(word.toString());
+    private static List<BoardCell> wordBuffer(Board board){
+
+        return new ArrayList<>(Math.max(board.getRows(), board.getCols()));
+    }
+
+    /**
+     * Returns the copy of an empty cell that tiles are tried in, making it
+     * the first time the cell is reached in a solve. A cell is never in a
+     * word twice and anything kept from a word is copied again, so one
+     * copy per cell is enough for every word built through it.
+     * @param cell empty cell of the board being solved
+     * @return copy of the cell
+     */
+    private BoardCell copyOf(BoardCell cell){
+        int x = cell.getXCell();
+        int y = cell.getYCell();
+        if(this.cellCopies[y][x] == null){
+            this.cellCopies[y][x] = cell.copyCell();
         }
-        return true;
+        return this.cellCopies[y][x];
+    }
 
+    /**
+     * Returns the lower case letter on a tile.
+     * @param tile tile
+     * @return letter
+     */
+    private static char letterOf(Tile tile){
+
+        return Character.toLowerCase(tile.getLetter().charAt(0));
     }
 
     /**
@@ -231,15 +609,14 @@ public class Solver {
      * empty and filled cells in a given row or column.
      * @param cell anchor
      * @param board board being solved
-     * @param partialWord string being built to check if its in the dictionary
      * @param posWord cells of each letter of the full word that was found
      * @param direction direction to search, up or down
-     * @param tray tray of tiles for computer
+     * @param rack tiles left for the computer
      * @param tilesPlaced actual tiles that the computer places
      */
     private void buildLeft(BoardCell cell, Board board,
-                           StringBuilder partialWord, List<BoardCell> posWord,
-                           Direction direction, Tray tray,
+                           List<BoardCell> posWord,
+                           Direction direction, Rack rack,
                            List<BoardCell> tilesPlaced) {
 
         this.emptyTiles = 1;
@@ -249,22 +626,22 @@ public class Solver {
             if(next != null){
                 if(this.emptyTiles != maxLength){
                     this.emptyTiles++;
-                    buildLeft(next, board, partialWord, posWord, direction,
-                            tray, tilesPlaced);
+                    buildLeft(next, board, posWord, direction,
+                            rack, tilesPlaced);
                 }else{
                     this.emptyTiles = 1;
                 }
             }
-            buildRight(cell, partialWord,
+            buildRight(cell, this.tree.getRoot(),
                     Direction.reverseDirection(direction),
-                    board,posWord, tray, tilesPlaced);
+                    board,posWord, rack, tilesPlaced);
         }else{
             this.emptyTiles = 1;
             BoardCell furthestLeft = loopToNextEmpty(cell, next,
                     board, direction);
-            buildRight(furthestLeft, partialWord,
+            buildRight(furthestLeft, this.tree.getRoot(),
                     Direction.reverseDirection(direction),
-                    board,posWord, tray, tilesPlaced);
+                    board,posWord, rack, tilesPlaced);
 
         }
     }
@@ -275,12 +652,10 @@ public class Solver {
      * @return true or false
      */
     private boolean anchored(List<BoardCell> posWord){
-        for(BoardCell anchor: this.boardAnchors){
-            for(BoardCell letter: posWord){
-                if(letter.getXCell() == anchor.getXCell() &&
-                   letter.getYCell() == anchor.getYCell()){
-                    return true;
-                }
+        for(int i = 0; i < posWord.size(); i++){
+            BoardCell letter = posWord.get(i);
+            if(this.anchorGrid[letter.getYCell()][letter.getXCell()]){
+                return true;
             }
         }
         return false;
@@ -290,22 +665,48 @@ public class Solver {
      * Checks the score of the new word and if it is higher than the previous
      * word found it replaces it as the high score word.
      * @param posWord word that was built
-     * @param tray tray of tiles
-     * @param direction direction used to get the word score
+     * @param tilesLeft number of tiles left in the tray
      * @param tilesPlaced actual tiles placed by computer
      */
-    private void checkScore(List<BoardCell> posWord, Tray tray,
-                            Direction direction,
-                            List<BoardCell> tilesPlaced){
-        int wordScore = this.score.scoreWord(posWord, tray,
-                direction, copyOfOriginal, tilesPlaced);
-        if(wordScore > this.score.getWordHighScore()){
-            List<BoardCell> newWord = new LinkedList<>(posWord);
-            List<BoardCell> newTiles = new LinkedList<>(tilesPlaced);
-            this.score.setHighScore(wordScore);
-            this.score.setHighScoreWord(newWord);
-            this.score.setWordToPlay(newTiles);
-        }else if(wordScore == this.score.getWordHighScore()){
+    protected void checkScore(List<BoardCell> posWord, int tilesLeft,
+                              List<BoardCell> tilesPlaced){
+        Move.pack(posWord, tilesPlaced, 0, this.packed, 0);
+        int wordScore = this.scoreGrid.score(this.packed, 0, tilesLeft);
+        Move.setScore(this.packed, 0, wordScore);
+        this.offer(wordScore, posWord, tilesPlaced);
+        if(this.topMoves != null){
+            this.topMoves.offer(this.packed, 0);
+        }
+        if(this.allMoves != null){
+            this.allMoves.add(this.packed, 0);
+        }
+    }
+
+    /**
+     * Offers the high score word of another score.
+     * @param other score holding a high score word
+     */
+    private void offer(Score other){
+        if(other.getHighScoreWord() != null){
+            this.offer(other.getWordHighScore(), other.getHighScoreWord(),
+                    other.getWordToPlay());
+        }
+    }
+
+    /**
+     * Makes a word the high score word if it scores more than the current
+     * one, or the same and is ahead alphabetically. The cells are only
+     * copied if the word is kept, since the solver keeps changing the tiles
+     * in the cells it is building with.
+     * @param wordScore score of the word
+     * @param posWord word that was built
+     * @param tilesPlaced actual tiles placed by computer
+     */
+    private void offer(int wordScore, List<BoardCell> posWord,
+                       List<BoardCell> tilesPlaced){
+        boolean better = this.score.getHighScoreWord() == null ||
+                wordScore > this.score.getWordHighScore();
+        if(!better && wordScore == this.score.getWordHighScore()){
             StringBuilder newWord = new StringBuilder();
             StringBuilder currentWord = new StringBuilder();
             for(BoardCell cell: posWord){
@@ -314,122 +715,131 @@ public class Solver {
             for(BoardCell cell: this.score.getHighScoreWord()){
                 currentWord.append(cell.getTile().getLetter());
             }
-            if(newWord.toString().compareTo(currentWord.toString()) < 0){
-                List<BoardCell> nextWord = new LinkedList<>(posWord);
-                List<BoardCell> newTiles = new LinkedList<>(tilesPlaced);
-                this.score.setHighScore(wordScore);
-                this.score.setHighScoreWord(nextWord);
-                this.score.setWordToPlay(newTiles);
+            better = newWord.toString().compareTo(currentWord.toString()) < 0;
+        }
+        if(better && wordScore >= this.score.getWordHighScore()){
+            List<BoardCell> newWord = new LinkedList<>();
+            List<BoardCell> newTiles = new LinkedList<>();
+            for(BoardCell cell: posWord){
+                if(tilesPlaced.contains(cell)){
+                    BoardCell placed = cell.copyCell();
+                    newWord.add(placed);
+                    newTiles.add(placed);
+                }else{
+                    newWord.add(cell);
+                }
             }
+            this.score.setHighScore(wordScore);
+            this.score.setHighScoreWord(newWord);
+            this.score.setWordToPlay(newTiles);
         }
     }
 
     /**
      * Builds the word starting from the left or up most tile and uses
      * recursive backtracking to build words based on they're existence
-     * in the dictionary
+     * in the dictionary. The dictionary node of the letters so far is
+     * carried along so each letter is one step from its parent node. Each
+     * different letter in the rack is only tried once per cell.
      * @param cell Cell being built from
-     * @param partialWord string builder being checked against dictionary
+     * @param node dictionary node of the word built so far
      * @param direction direction word is being built in, right or down
      * @param board board being solved
      * @param posWord each cell of the full word being checked
-     * @param tray tray of tiles
+     * @param rack tiles left for the computer
      * @param tilesPlaced actual tiles that are placed and not already on the
      *                    board
      */
-    private void buildRight(BoardCell cell, StringBuilder partialWord,
+    private void buildRight(BoardCell cell, int node,
                             Direction direction, Board board,
-                            List<BoardCell> posWord, Tray tray,
+                            List<BoardCell> posWord, Rack rack,
                             List<BoardCell> tilesPlaced) {
+        if(this.outOfTime()){
+            return;
+        }
         if(!cell.hasTile()){
-            for(Tile tile : tray.getTray()){
-                Tray trayCopy = tray.copyTray();
-                BoardCell cellCopy = cell.copyCell();
-                if(tile.getLetter().equals("*")){
-                    Set<Character> posNextLetters = this.tree.
-                            getNodeKeys(partialWord.toString());
-                    for(Character c: posNextLetters){
-                        BoardCell megaCopy = cellCopy.copyCell();
-                        Tile tileCopy = tile.copyTile();
-                        tileCopy.setLetter(String.valueOf(c));
-                        megaCopy.setTileInCell(tileCopy);
-                        partialWord.append(tileCopy.getLetter());
-                        posWord.add(megaCopy);
-                        tilesPlaced.add(megaCopy);
-                        BoardCell next = board.getNextCell(megaCopy, direction);
-                        if((next == null || !next.hasTile()) &&
-                        this.anchored(posWord) &&
-                                this.tree.search(partialWord.toString())
-                         && crossCheck(board, megaCopy, direction)){
-                            trayCopy.getTray().remove(tile);
-                            this.checkScore(posWord, trayCopy, direction,
-                                    tilesPlaced);
-                            trayCopy.getTray().add(tile);
-                        }
-                        if(this.tree.searchPartial(partialWord.toString()) &&
-                                crossCheck(board, megaCopy, direction)){
-
-                            tile.setLetter(String.valueOf(c));
-                            trayCopy.getTray().remove(tile);
-
-                            if(next != null){
-                                buildRight(next, partialWord, direction, board,
-                                        posWord, trayCopy, tilesPlaced);
-                            }
-                            tile.setLetter("*");
-                        }
-                        posWord.remove(megaCopy);
-                        tilesPlaced.remove(megaCopy);
-                        partialWord.deleteCharAt(partialWord.length() - 1);
-                    }
-                }else {
-                    cellCopy.setTileInCell(tile);
-                    partialWord.append(tile.getLetter());
-                    posWord.add(cellCopy);
-                    tilesPlaced.add(cellCopy);
-                    BoardCell next = board.getNextCell(cellCopy, direction);
-                    if ((next == null || !next.hasTile()) &&
-                            this.anchored(posWord)
-                            && this.tree.search(partialWord.toString()) &&
-                            crossCheck(board, cellCopy, direction)) {
-                        trayCopy.getTray().remove(tile);
-                        this.checkScore(posWord, trayCopy, direction,
-                                tilesPlaced);
-                        trayCopy.getTray().add(tile);
-                    }
-                    if (this.tree.searchPartial(partialWord.toString()) &&
-                            crossCheck(board, cellCopy, direction)) {
-                        if (next != null) {
-                            trayCopy.getTray().remove(tile);
-                            buildRight(next, partialWord, direction, board,
-                                    posWord, trayCopy, tilesPlaced);
-                        }
-                    }
-                    posWord.remove(cellCopy);
-                    tilesPlaced.remove(cellCopy);
-                    partialWord.deleteCharAt(partialWord.length() - 1);
+            int allowed = this.crossChecks.getMask(cell.getXCell(),
+                    cell.getYCell(), direction);
+            int letters = this.tree.getChildMask(node) & allowed;
+            if(letters == 0){
+                return;
+            }
+            BoardCell cellCopy = this.copyOf(cell);
+            for(int slot = 0; slot < Rack.BLANK; slot++){
+                if(rack.count(slot) == 0 || (letters & (1 << slot)) == 0){
+                    continue;
                 }
+                rack.take(slot);
+                placeTile(cellCopy, rack.getTile(slot),
+                        this.tree.child(node, (char) ('a' + slot)),
+                        direction, board, posWord, rack, tilesPlaced);
+                rack.put(slot);
+            }
+            if(rack.count(Rack.BLANK) > 0){
+                rack.take(Rack.BLANK);
+                while(letters != 0){
+                    char c = (char) ('a' + Integer.numberOfTrailingZeros(
+                            letters));
+                    letters &= letters - 1;
+                    placeTile(cellCopy, rack.blankAs(c),
+                            this.tree.child(node, c),
+                            direction, board, posWord, rack, tilesPlaced);
+                }
+                rack.put(Rack.BLANK);
             }
-
         }else{
-            partialWord.append(cell.getTile().getLetter());
+            int child = this.tree.child(node, letterOf(cell.getTile()));
+            if(child < 0){
+                return;
+            }
             posWord.add(cell);
             BoardCell next = board.getNextCell(cell, direction);
             if(next == null || !next.hasTile()){
-                if(this.anchored(posWord) &&
-                        this.tree.search(partialWord.toString())){
-                    this.checkScore(posWord, tray, direction, tilesPlaced);
+                if(this.tree.isLeaf(child) && this.anchored(posWord)){
+                    this.checkScore(posWord, rack.size(), tilesPlaced);
                 }
             }
-            if(this.tree.searchPartial(partialWord.toString())){
-                if(next != null){
-                    buildRight(next, partialWord, direction, board, posWord,
-                            tray, tilesPlaced);
-                }
+            if(next != null){
+                buildRight(next, child, direction, board, posWord,
+                        rack, tilesPlaced);
             }
-            posWord.remove(cell);
-            partialWord.deleteCharAt(partialWord.length() - 1);
+            posWord.remove(posWord.size() - 1);
+        }
+    }
+
+    /**
+     * Puts a tile from the rack in a copy of an empty cell, scores the word
+     * if it is finished and keeps building. The same copy is used for every
+     * letter tried in the cell, blanks included, and the word lists are
+     * array lists taken off from the end, so nothing is made per letter.
+     * @param cellCopy copy of the empty cell
+     * @param tile tile placed
+     * @param child dictionary node of the word with the tile
+     * @param direction direction word is being built in, right or down
+     * @param board board being solved
+     * @param posWord each cell of the full word being checked
+     * @param rack tiles left for the computer
+     * @param tilesPlaced actual tiles that are placed and not already on the
+     *                    board
+     */
+    private void placeTile(BoardCell cellCopy, Tile tile, int child,
+                           Direction direction, Board board,
+                           List<BoardCell> posWord, Rack rack,
+                           List<BoardCell> tilesPlaced){
+        cellCopy.setTileInCell(tile);
+        posWord.add(cellCopy);
+        tilesPlaced.add(cellCopy);
+        BoardCell next = board.getNextCell(cellCopy, direction);
+        if((next == null || !next.hasTile()) && this.tree.isLeaf(child) &&
+                this.anchored(posWord)){
+            this.checkScore(posWord, rack.size(), tilesPlaced);
+        }
+        if(next != null){
+            buildRight(next, child, direction, board, posWord, rack,
+                    tilesPlaced);
         }
+        posWord.remove(posWord.size() - 1);
+        tilesPlaced.remove(tilesPlaced.size() - 1);
     }
 
     /**
@@ -454,6 +864,9 @@ public class Solver {
      */
     private String solutionToString(){
         StringBuilder word = new StringBuilder();
+        if(this.score.getHighScoreWord() == null){
+            return word.toString();
+        }
         for(BoardCell c: this.score.getHighScoreWord()){
             word.append(c.getTile().getLetter());
         }
@@ -469,8 +882,134 @@ public class Solver {
         return this.score.getWordHighScore();
     }
 
+    /**
+     * Solves one board and returns the text printed for it, the input
+     * board and tray followed by the solution and the solved board.
+     * @param tree handle of the dictionary of words
+     * @param gaddag gaddag to solve with or null
+     * @param pool pool to split the anchors across or null
+     * @param board board to solve
+     * @param tray string of the tray letters
+     * @param top number of best moves to list after the solution, or 0
+     * @param budget time budget in milliseconds, or 0 to search everything
+     * @return text printed for the board
+     */
+    protected static String solveBoard(DictionaryHandle tree, Gaddag gaddag,
+                                       ForkJoinPool pool, Board board,
+                                       String tray, int top, long budget){
+        String newLine = System.lineSeparator();
+        Solver solver = new Solver(tree, gaddag);
+        solver.setPool(pool);
+        solver.setTimeBudget(budget);
+        if(top > 0){
+            solver.setTopMoves(top);
+        }
+        solver.setBoardAnchors(solver.findAnchors(board));
+        Tray rack = solver.buildTray(tray, board);
+        solver.solve(board, rack);
+        StringBuilder text = new StringBuilder();
+        text.append("Input Board:").append(newLine);
+        text.append(board.toString());
+        text.append("Tray: ").append(tray).append(newLine);
+        solver.placeWord(board);
+        text.append("Solution ").append(solver.solutionToString())
+                .append(" has ").append(solver.getHighScore())
+                .append(" points").append(newLine);
+        if(!solver.isCompleted()){
+            text.append("Search stopped after the ").append(budget)
+                    .append(" ms budget, best word so far").append(newLine);
+        }
+        text.append("Solution Board:").append(newLine);
+        text.append(board.toString());
+        if(top > 0){
+            text.append("Top ").append(top).append(" moves:").append(newLine);
+            int rank = 1;
+            for(Move move: solver.getTopMoves()){
+                text.append(rank++).append(". ").append(move)
+                        .append(newLine);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Loads the dictionary named on the command line. A file ending in
+     * .dict was compiled by the DictionaryCompiler and is mapped, otherwise
+     * the word list is read into a Trie, or a CompactTrie or DAWG if asked
+     * for with --compact or --dawg. A plain Trie of a bundled list comes
+     * from the shared DictionaryRegistry, so it is only loaded once, when
+     * it is first used, and can be let go of under the registry's cap.
+     * @param file dictionary file
+     * @param args command line arguments
+     * @return handle of the dictionary
+     * @throws IOException if a compiled dictionary can't be read
+     */
+    protected static DictionaryHandle loadDictionary(String file,
+                                                     String[] args)
+            throws IOException {
+        if(file.endsWith(COMPILED)){
+            return DictionaryHandle.of(new MappedDictionary(Paths.get(file)));
+        }else if(Arrays.asList(args).contains("--dawg")){
+            return DictionaryHandle.of(DawgBuilder.build(file));
+        }else if(Arrays.asList(args).contains("--compact")){
+            return DictionaryHandle.of(new CompactTrie(file));
+        }else if(DictionaryRegistry.getShared().contains(file)){
+            return DictionaryRegistry.getShared().get(file);
+        }
+        return DictionaryHandle.of(new Trie(file));
+    }
+
+    /**
+     * Loads the Gaddag for a dictionary. A compiled dictionary uses the
+     * compiled GADDAG next to it if there is one, otherwise the GADDAG is
+     * built from the word list, without loading the dictionary itself.
+     * @param file dictionary file
+     * @param tree handle of the dictionary loaded from the file
+     * @return gaddag
+     * @throws IOException if a compiled GADDAG can't be read
+     */
+    protected static Gaddag loadGaddag(String file, DictionaryHandle tree)
+            throws IOException {
+        if(file.endsWith(COMPILED)){
+            Path compiled = Paths.get(file.substring(0, file.length() -
+                    COMPILED.length()) + COMPILED_GADDAG);
+            if(Files.exists(compiled)){
+                return new Gaddag(new MappedDictionary(compiled));
+            }
+            return new Gaddag(((MappedDictionary) tree.getDictionary())
+                    .getWords());
+        }
+        return new Gaddag(file);
+    }
+
+    /**
+     * Returns the number given after an option on the command line.
+     * @param args command line arguments
+     * @param option option to look for
+     * @param fallback value if the option isn't there
+     * @return value of the option
+     */
+    protected static int optionValue(String[] args, String option,
+                                   int fallback){
+        for(int i = 0; i < args.length - 1; i++){
+            if(args[i].equals(option)){
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+        return fallback;
+    }
+
     /**
      * Main starts program builds a dictionary and reads in boards to be solved.
+     * Passing --compact after the dictionary file loads it into a
+     * CompactTrie instead of a Trie and --dawg loads it into a minimized
+     * word graph. A dictionary ending in .dict is mapped from the file
+     * made by the DictionaryCompiler. Passing --gaddag finds the moves
+     * with the GaddagSolver.
+     * Passing --threads and a number solves each board's anchors across
+     * that many threads. Passing --batch and a number solves that many
+     * boards at once with the BatchSolver. Passing --top and a number lists
+     * that many of the best moves after each solution.
      * @param args command line arguments
      * @throws IOException because of scanners
      */
@@ -482,28 +1021,36 @@ public class Solver {
             System.out.println("Need input file!");
             return;
         }
-        Trie tree = new Trie(file);
+        DictionaryHandle tree = loadDictionary(file, args);
+        Gaddag gaddag = null;
+        if(Arrays.asList(args).contains("--gaddag")){
+            gaddag = loadGaddag(file, tree);
+        }
+        ForkJoinPool pool = null;
+        int threads = optionValue(args, "--threads", 0);
+        if(threads > 0){
+            pool = new ForkJoinPool(threads);
+        }
         InputStream textBoard = System.in;
         assert textBoard != null;
         Scanner scanner = new Scanner(textBoard);
 
+        int top = optionValue(args, "--top", 0);
+        int budget = optionValue(args, "--budget", 0);
+        int workers = optionValue(args, "--batch", 0);
+        if(workers > 0){
+            BatchSolver batch = new BatchSolver(tree, gaddag, pool, workers);
+            batch.setTop(top);
+            batch.setBudget(budget);
+            batch.run(scanner, System.out, System.err);
+            return;
+        }
         while(scanner.hasNextLine()){
             int size = scanner.nextInt();
             Board board = readInBoard(scanner,size);
             String tray = scanner.nextLine();
-            Solver solver = new Solver(tree);
-            solver.setBoardCopy(board.copyBoard(board.toString()));
-            solver.setBoardAnchors(solver.findAnchors(board));
-            Tray rack = solver.buildTray(tray, board);
-            solver.solve(board, rack);
-            System.out.println("Input Board:");
-            System.out.print(board.toString());
-            System.out.println("Tray: " + tray);
-            solver.placeWord(board);
-            System.out.println("Solution " + solver.solutionToString() +
-                    " has " + solver.getHighScore() + " points");
-            System.out.println("Solution Board:");
-            System.out.print(board.toString());
+            System.out.print(solveBoard(tree, gaddag, pool, board, tray,
+                    top, budget));
         }
     }
 
@@ -0,0 +1,169 @@
+package scrabble;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * SolverBenchmark class times full solves of the boards in
+ * example_input.txt. Each board is solved with its own tray, with any
+ * blanks in it made into e's, and again with one and two of its letters
+ * swapped for blanks, with both the left to right solver and the
+ * GaddagSolver. The best word and score are printed so the two can be
+ * checked against each other. After each board the two blank time is
+ * compared to the no blank time, which should stay within
+ * MAX_BLANK_COST, ex:
+ * java -cp solver.jar scrabble.SolverBenchmark sowpods.txt
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class SolverBenchmark {
+
+    private static final String INPUT = "example_input.txt";
+    private static final int ROUNDS = 3;
+    private static final int MAX_BLANKS = 2;
+    private static final double MAX_BLANK_COST = 2.0;
+    private static final char NO_BLANK = 'e';
+
+    /**
+     * Reads each board and tray from the example input.
+     * @return board text followed by its tray, one pair per board
+     */
+    protected static List<String[]> readPuzzles(){
+        InputStream input = SolverBenchmark.class.getClassLoader().
+                getResourceAsStream(INPUT);
+        assert input != null;
+        Scanner scanner = new Scanner(input);
+        List<String[]> puzzles = new ArrayList<>();
+        while(scanner.hasNextLine()){
+            int size = scanner.nextInt();
+            StringBuilder board = new StringBuilder();
+            for(int i = 0; i < size + 1; i++){
+                board.append(scanner.nextLine()).append("\n");
+            }
+            String tray = scanner.nextLine();
+            puzzles.add(new String[]{size + board.toString(), tray});
+        }
+        return puzzles;
+    }
+
+    /**
+     * Makes any blanks in a tray into e's and then swaps the first letters
+     * for blanks.
+     * @param tray tray of letters
+     * @param blanks number of blanks wanted
+     * @return new tray
+     */
+    protected static String withBlanks(String tray, int blanks){
+        StringBuilder newTray = new StringBuilder(tray.replace('*',
+                NO_BLANK));
+        for(int i = 0; i < newTray.length() && i < blanks; i++){
+            newTray.setCharAt(i, '*');
+        }
+        return newTray.toString();
+    }
+
+    /**
+     * Reads a board from its text.
+     * @param board board text starting with its size
+     * @return new board
+     * @throws IOException because board is read from input
+     */
+    protected static Board readBoard(String board) throws IOException {
+        Scanner scanner = new Scanner(board);
+        int size = scanner.nextInt();
+        return Solver.readInBoard(scanner, size);
+    }
+
+    /**
+     * Makes a tray from a full bag, so the tray doesn't have to fit in what
+     * is left in the bag of the board.
+     * @param tray tray of letters
+     * @return new tray
+     * @throws IOException because the bag is read from a file
+     */
+    protected static Tray makeTray(String tray) throws IOException {
+        TilesBag bag = new TilesBag();
+        List<Tile> tiles = new LinkedList<>();
+        for(int i = 0; i < tray.length(); i++){
+            tiles.add(bag.getTile(tray.charAt(i)));
+        }
+        return new Tray(tiles);
+    }
+
+    /**
+     * Solves a board and prints the best time over a few rounds.
+     * @param engine name of the solver
+     * @param tree dictionary
+     * @param gaddag GADDAG or null
+     * @param number board number
+     * @param puzzle board text and tray
+     * @param blanks number of blanks in the tray
+     * @return best time in nanoseconds
+     * @throws IOException because board is read from input
+     */
+    private static long measure(String engine, Dictionary tree,
+                                Gaddag gaddag, int number, String[] puzzle,
+                                int blanks) throws IOException {
+        long best = Long.MAX_VALUE;
+        Solver solver = null;
+        for(int round = 0; round < ROUNDS; round++){
+            Board board = readBoard(puzzle[0]);
+            long start = System.nanoTime();
+            solver = new Solver(tree, gaddag);
+            solver.setBoardAnchors(solver.findAnchors(board));
+            Tray rack = makeTray(puzzle[1]);
+            solver.solve(board, rack);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        StringBuilder word = new StringBuilder();
+        if(solver.getScore().getHighScoreWord() != null){
+            for(BoardCell cell: solver.getScore().getHighScoreWord()){
+                word.append(cell.getTile().getLetter());
+            }
+        }
+        System.out.printf("%5d %5d %-9s %7d %-8s %10.1f %6d %s%n", number,
+                readBoard(puzzle[0]).getRows(), puzzle[1], blanks, engine,
+                best / 1000000.0, solver.getScore().getWordHighScore(),
+                word);
+        return best;
+    }
+
+    /**
+     * Main runs the benchmark.
+     * @param args dictionary file, sowpods.txt if left out
+     * @throws IOException because boards are read from input
+     */
+    public static void main(String[] args) throws IOException {
+        String file = args.length > 0 ? args[0] : "sowpods.txt";
+        Dictionary tree = new Trie(file);
+        long start = System.nanoTime();
+        Gaddag gaddag = new Gaddag(file);
+        System.out.printf("GADDAG of %s built in %d ms with %d nodes%n",
+                file, (System.nanoTime() - start) / 1000000,
+                gaddag.getNodeCount());
+        System.out.printf("%5s %5s %-9s %7s %-8s %10s %6s %s%n", "board",
+                "size", "tray", "blanks", "engine", "best ms", "score",
+                "word");
+        List<String[]> puzzles = readPuzzles();
+        String[] engines = {"classic", "gaddag"};
+        Gaddag[] gaddags = {null, gaddag};
+        for(int i = 0; i < puzzles.size(); i++){
+            long[][] times = new long[engines.length][MAX_BLANKS + 1];
+            for(int blanks = 0; blanks <= MAX_BLANKS; blanks++){
+                String[] puzzle = {puzzles.get(i)[0],
+                        withBlanks(puzzles.get(i)[1], blanks)};
+                for(int e = 0; e < engines.length; e++){
+                    times[e][blanks] = measure(engines[e], tree, gaddags[e],
+                            i + 1, puzzle, blanks);
+                }
+            }
+            for(int e = 0; e < engines.length; e++){
+                double cost = (double) times[e][MAX_BLANKS] / times[e][0];
+                System.out.printf("board %d %s %d blanks take %.1fx the " +
+                        "no blank time (%s)%n", i + 1, engines[e],
+                        MAX_BLANKS, cost, cost <= MAX_BLANK_COST ?
+                                "ok" : "over " + MAX_BLANK_COST + "x");
+            }
+        }
+    }
+}
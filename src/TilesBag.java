@@ -12,18 +12,72 @@ import java.util.*;
  */
 public class TilesBag {
 
-    private List<Tile> bag;
+    private static final int TRAY_SIZE = 7;
+
+    private Tile[][] bag = new Tile[Rack.SLOTS][0];
+    private int[] counts = new int[Rack.SLOTS];
+    private int[] totals = new int[Rack.SLOTS];
+    private int size;
+    private int[] letterPoints = new int[Rack.SLOTS];
+    private SplittableRandom random = new SplittableRandom();
 
     /**
-     * TilesBag constructor initializes bag as a linked list
-     * and fills the bag with the proper tiles.
+     * TilesBag constructor fills the bag with the proper tiles. The tiles
+     * are kept in one array per letter, a to z then the blank, with a count
+     * of how many of each are left, so a tile is drawn or put back without
+     * searching the bag.
      * @throws IOException if text file is null
      */
     public TilesBag() throws IOException {
-        bag = new LinkedList<>();
+
         readFile();
     }
 
+    /**
+     * TilesBag constructor makes a copy of another bag holding the same
+     * tiles, without reading the file. The original is left as it was, so
+     * the copy draws with a new unseeded generator until setRandom is
+     * called on it.
+     * @param original bag being copied
+     */
+    private TilesBag(TilesBag original){
+        for(int slot = 0; slot < Rack.SLOTS; slot++){
+            bag[slot] = original.bag[slot].clone();
+        }
+        counts = original.counts.clone();
+        size = original.size;
+        totals = original.totals;
+        letterPoints = original.letterPoints;
+    }
+
+    /**
+     * TilesBag constructor makes a bag of new tiles with the same letters
+     * and points as another bag, a set number of each letter. Like a copy
+     * it draws with a new unseeded generator.
+     * @param original bag the letters and points come from
+     * @param letterCounts number of tiles of each letter
+     */
+    private TilesBag(TilesBag original, int[] letterCounts){
+        totals = original.totals;
+        letterPoints = original.letterPoints;
+        for(int slot = 0; slot < Rack.SLOTS; slot++){
+            String letter = slot == Rack.BLANK ? "*" :
+                    String.valueOf((char) ('a' + slot));
+            for(int i = 0; i < letterCounts[slot]; i++){
+                put(slot, new Tile(letter, letterPoints[slot]));
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the bag(not the same reference).
+     * @return new bag
+     */
+    protected TilesBag copyBag(){
+
+        return new TilesBag(this);
+    }
+
     /**
      * Takes a letter and point value and puts the number of tiles
      * with that letter and point value into the bag.
@@ -32,17 +86,74 @@ public class TilesBag {
      * @param points number of points for tile
      */
     private void fillBag(String letter, int frequency ,int points){
+        int slot = letter.equals("*") ? Rack.BLANK : letter.charAt(0) - 'a';
+        letterPoints[slot] = points;
+        totals[slot] += frequency;
         for(int i = 0; i < frequency; i++){
-            bag.add(new Tile(letter,points));
+            put(slot, new Tile(letter,points));
         }
     }
 
+    /**
+     * Sets the random numbers tiles are drawn with, so a seeded generator
+     * draws the same tiles every time.
+     * @param random random number generator
+     */
+    protected void setRandom(SplittableRandom random){
+
+        this.random = random;
+    }
+
+    /**
+     * Returns the points of each letter, a to z then the blank, whether or
+     * not any are left in the bag.
+     * @return points of each letter
+     */
+    protected int[] getLetterPoints(){
+
+        return letterPoints.clone();
+    }
+
+    /**
+     * Returns how many tiles of a letter are left in the bag.
+     * @param slot letter from 0 to 25 or 26 for the blank
+     * @return number of tiles
+     */
+    protected int getCount(int slot){
+
+        return counts[slot];
+    }
+
+    /**
+     * Returns a bag of the tiles a player hasn't seen: every tile of the
+     * game that isn't on the board or in their tray. These are the tiles
+     * in this bag and in the other player's tray, without knowing which
+     * are which. Blanks on the board are the tiles with upper case letters.
+     * @param board board being played on
+     * @param tray player's tray
+     * @return new bag of the unseen tiles
+     */
+    protected TilesBag unseenBy(Board board, Tray tray){
+        int[] unseen = totals.clone();
+        for(BoardCell cell : board.getBoard()){
+            if(cell.hasTile()){
+                char letter = cell.getTile().getLetter().charAt(0);
+                unseen[Character.isUpperCase(letter) ? Rack.BLANK :
+                        letter - 'a']--;
+            }
+        }
+        for(Tile tile : tray.getTray()){
+            unseen[Rack.slotOf(tile)]--;
+        }
+        return new TilesBag(this, unseen);
+    }
+
     /**
      * Returns the size of the bag.
      * @return size of bag
      */
     protected int getBagSize(){
-        return this.bag.size();
+        return this.size;
     }
 
     /**
@@ -50,26 +161,24 @@ public class TilesBag {
      * @param tile tile to be removed.
      */
     protected void removeTile(Tile tile){
-        this.bag.remove(tile);
+        int slot = Rack.slotOf(tile);
+        for(int i = 0; i < counts[slot]; i++){
+            if(bag[slot][i] == tile){
+                take(slot, i);
+                return;
+            }
+        }
     }
 
     /**
-     * Fills the tray up to 7 tiles.
+     * Fills the tray up to 7 tiles, or as close as the tiles left in the
+     * bag allow.
      * @param tray tray to be filled.
      */
     protected void fillTray(Tray tray){
-        Random randGenerator = new Random();
-        int randIndex;
-        int bagSize = this.bag.size();
-        int trayMaxSize = 7;
-        int currentTraySize = tray.getTray().size();
-        int limit = Math.min(bagSize, trayMaxSize);
-
-        for(int i = currentTraySize; i < limit; i++){
-            randIndex = randGenerator.nextInt(this.bag.size());
-            Tile tile = this.bag.get(randIndex);
-            tray.getTray().add(tile);
-            this.bag.remove(tile);
+        int limit = Math.min(tray.getTray().size() + this.size, TRAY_SIZE);
+        for(int i = tray.getTray().size(); i < limit; i++){
+            tray.getTray().add(draw());
         }
     }
 
@@ -82,10 +191,7 @@ public class TilesBag {
     protected List<Tile> takeFromBag(int numNeeded){
         List<Tile> tiles = new LinkedList<>();
         for(int i = 0; i < numNeeded; i++){
-            Random randIndex = new Random();
-            Tile newTile = this.bag.get(randIndex.nextInt(this.bag.size()));
-            tiles.add(newTile);
-            this.bag.remove(newTile);
+            tiles.add(draw());
         }
         return tiles;
     }
@@ -96,7 +202,55 @@ public class TilesBag {
      * @param tiles unwanted tiles
      */
     protected void addToBag(List<Tile> tiles){
-        this.bag.addAll(tiles);
+        for(Tile tile : tiles){
+            put(Rack.slotOf(tile), tile);
+        }
+    }
+
+    /**
+     * Draws a random tile. Every tile left is as likely to be drawn: a
+     * number up to the size of the bag is counted off through the letters
+     * to find its letter and tile.
+     * @return tile drawn
+     */
+    private Tile draw(){
+        int index = random.nextInt(this.size);
+        int slot = 0;
+        while(index >= counts[slot]){
+            index -= counts[slot];
+            slot++;
+        }
+        return take(slot, index);
+    }
+
+    /**
+     * Takes a tile out of a letter's array by moving the last tile of the
+     * letter into its place.
+     * @param slot letter from 0 to 25 or 26 for the blank
+     * @param index index of the tile in the letter's array
+     * @return tile taken
+     */
+    private Tile take(int slot, int index){
+        Tile tile = bag[slot][index];
+        int last = --counts[slot];
+        bag[slot][index] = bag[slot][last];
+        bag[slot][last] = null;
+        size--;
+        return tile;
+    }
+
+    /**
+     * Puts a tile into a letter's array, making the array bigger if it is
+     * full.
+     * @param slot letter from 0 to 25 or 26 for the blank
+     * @param tile tile put in
+     */
+    private void put(int slot, Tile tile){
+        if(counts[slot] == bag[slot].length){
+            bag[slot] = Arrays.copyOf(bag[slot], counts[slot] * 2 + 1);
+        }
+        bag[slot][counts[slot]++] = tile;
+        size++;
     }
 
     /**
@@ -122,9 +276,12 @@ public class TilesBag {
      * Used for debugging.
      */
     private void printTiles(){
-        for(Tile t : this.bag){
-            System.out.println("Letter = " + t.getLetter()
-                    + " Points = " + t.getPointVal());
+        for(int slot = 0; slot < Rack.SLOTS; slot++){
+            for(int i = 0; i < counts[slot]; i++){
+                Tile t = bag[slot][i];
+                System.out.println("Letter = " + t.getLetter()
+                        + " Points = " + t.getPointVal());
+            }
         }
     }
 
@@ -137,22 +294,18 @@ public class TilesBag {
      */
     protected Tile getTile(char letter){
         if(Character.getType(letter) == Character.UPPERCASE_LETTER){
-            for(Tile t : this.bag){
-                if(t.getLetter().equals("*")){
-                    t.setLetter(String.valueOf(letter));
-                    this.bag.remove(t);
-                    return t;
-                }
-            }
-        }else{
-            for(Tile t : this.bag){
-                if(t.getLetter().equals(String.valueOf(letter))){
-                    this.bag.remove(t);
-                    return t;
-                }
+            if(counts[Rack.BLANK] == 0){
+                return null;
             }
+            Tile t = take(Rack.BLANK, counts[Rack.BLANK] - 1);
+            t.setLetter(String.valueOf(letter));
+            return t;
+        }
+        int slot = letter == '*' ? Rack.BLANK : letter - 'a';
+        if(slot < 0 || slot >= Rack.SLOTS || counts[slot] == 0){
+            return null;
         }
-        return null;
+        return take(slot, counts[slot] - 1);
     }
 
     /**
@@ -0,0 +1,123 @@
+package scrabble;
+import java.util.*;
+
+/**
+ * TopMoves class keeps the best moves found by a solver, up to a set
+ * number. The moves are held in a min heap with the worst one on top, so a
+ * move that doesn't beat it is turned away by looking at its score, and
+ * only moves that make the cut are turned into a Move. The same word in the
+ * same place is only kept once. Moves with the same score are in
+ * alphabetical order, then in the order they were found.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class TopMoves {
+
+    private int capacity;
+    private PriorityQueue<Move> heap;
+    private Map<Move, Long> found = new HashMap<>();
+    private long offered;
+
+    /**
+     * TopMoves constructor.
+     * @param capacity number of moves to keep
+     * @throws IllegalArgumentException if capacity isn't positive
+     */
+    public TopMoves(int capacity){
+        if(capacity < 1){
+            throw new IllegalArgumentException("Need to keep at least one " +
+                    "move, not " + capacity);
+        }
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity + 1, (a, b) ->
+                this.isWorse(a, this.found.get(a), b) ? -1 :
+                (this.isWorse(b, this.found.get(b), a) ? 1 : 0));
+    }
+
+    /**
+     * Returns the number of moves it keeps.
+     * @return capacity
+     */
+    protected int getCapacity(){
+
+        return this.capacity;
+    }
+
+    /**
+     * Offers a move that was just found.
+     * @param packed array the move is packed into
+     * @param at index of the header of the move
+     */
+    protected void offer(long[] packed, int at){
+        long order = this.offered++;
+        if(this.heap.size() == this.capacity &&
+                Move.scoreOf(packed[at]) < this.heap.peek().getScore()){
+            return;
+        }
+        this.offer(Move.read(packed, at), order);
+    }
+
+    /**
+     * Offers the moves kept by another collector, as if they were found
+     * after every move offered so far.
+     * @param other other collector
+     */
+    protected void offerAll(TopMoves other){
+        List<Move> moves = new ArrayList<>(other.heap);
+        moves.sort(Comparator.comparingLong(other.found::get));
+        for(Move move: moves){
+            this.offer(move, this.offered++);
+        }
+    }
+
+    /**
+     * Keeps a move if it makes the cut, dropping the worst move if there
+     * are too many.
+     * @param move move
+     * @param order when the move was found
+     */
+    private void offer(Move move, long order){
+        if(this.heap.size() == this.capacity &&
+                this.isWorse(move, order, this.heap.peek())){
+            return;
+        }
+        if(this.found.containsKey(move)){
+            return;
+        }
+        this.found.put(move, order);
+        this.heap.add(move);
+        if(this.heap.size() > this.capacity){
+            this.found.remove(this.heap.poll());
+        }
+    }
+
+    /**
+     * Checks if a move is worse than a move that is kept. A lower score is
+     * worse, then a word later in the alphabet, then a move found later.
+     * @param move move
+     * @param order when the move was found
+     * @param kept move that is kept
+     * @return true if it is worse
+     */
+    private boolean isWorse(Move move, long order, Move kept){
+        if(move.getScore() != kept.getScore()){
+            return move.getScore() < kept.getScore();
+        }
+        int word = move.getWord().compareTo(kept.getWord());
+        if(word != 0){
+            return word > 0;
+        }
+        return order > this.found.get(kept);
+    }
+
+    /**
+     * Returns the moves kept, best first.
+     * @return moves
+     */
+    public List<Move> getMoves(){
+        List<Move> moves = new ArrayList<>(this.heap);
+        moves.sort((a, b) -> this.isWorse(a, this.found.get(a), b) ? 1 :
+                (this.isWorse(b, this.found.get(b), a) ? -1 : 0));
+        return moves;
+    }
+}
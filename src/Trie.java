@@ -1,5 +1,5 @@
 package scrabble;
-import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -7,9 +7,10 @@ import java.util.*;
  * @author Sam Cox
  * @version date 3/6/20
  */
-public class Trie {
+public class Trie implements Dictionary {
 
     private TrieNode root;
+    private List<TrieNode> nodes = new ArrayList<>();
 
     /**
      * Constructor for Trie object makes a new tree based on an input file.
@@ -17,24 +18,119 @@ public class Trie {
      */
     public Trie(String file){
 
+        this(file, false);
+    }
+
+    /**
+     * Constructor for Trie object makes a new tree based on an input file.
+     * If the file is sorted the tree is built in a single pass that never
+     * looks a letter up in a node, since every letter after the part a word
+     * shares with the word before it has to be new.
+     * @param file file name
+     * @param sorted true if the words are in alphabetical order
+     * @throws IllegalArgumentException if sorted is true and a word is out
+     *                                  of order
+     */
+    public Trie(String file, boolean sorted){
+
         root = new TrieNode();
-        this.readInDictionary(file);
+        nodes.add(root);
+        this.readInDictionary(file, sorted);
     }
 
     /**
-     * Reads in the dictionary from a class loader.
+     * Reads in the dictionary from a class loader without making a String
+     * for each word.
      * @param file file name
+     * @param sorted true if the words are in alphabetical order
      */
-    private void readInDictionary(String file){
-        InputStream dictionary = getClass().getClassLoader().
-                getResourceAsStream(file);
-        assert dictionary != null;
-        Scanner scanner = new Scanner(dictionary);
-
-        while(scanner.hasNextLine()){
-            String word = scanner.nextLine();
-            this.insert(word);
+    private void readInDictionary(String file, boolean sorted){
+
+        WordListReader.read(file, new Loader(sorted));
+    }
+
+    /**
+     * Loader class inserts the words of a word list as they are read. It
+     * keeps the nodes of the word before so a word only has to be walked
+     * from where it stops sharing letters with it.
+     */
+    private class Loader implements WordListReader.WordSink {
+
+        private boolean sorted;
+        private TrieNode[] path = new TrieNode[16];
+        private byte[] previous = new byte[16];
+        private int previousLength;
+
+        /**
+         * Loader constructor.
+         * @param sorted true if the words are in alphabetical order
+         */
+        Loader(boolean sorted){
+            this.sorted = sorted;
+            this.path[0] = root;
         }
+
+        /**
+         * Inserts a word.
+         * @param letters lower case letters of the word
+         * @param length number of letters
+         */
+        @Override
+        public void accept(byte[] letters, int length){
+            if(length >= this.path.length){
+                this.path = Arrays.copyOf(this.path, length * 2);
+                this.previous = Arrays.copyOf(this.previous, length * 2);
+            }
+            int common = 0;
+            int limit = Math.min(length, this.previousLength);
+            while(common < limit && letters[common] ==
+                    this.previous[common]){
+                common++;
+            }
+            if(this.sorted && ((common < limit && letters[common] <
+                    this.previous[common]) || (common == length &&
+                    length < this.previousLength))){
+                throw new IllegalArgumentException("Words are not sorted at "
+                        + new String(letters, 0, length,
+                        StandardCharsets.US_ASCII));
+            }
+            for(int i = common; i < length; i++){
+                char letter = (char) letters[i];
+                TrieNode node = null;
+                if(!this.sorted){
+                    node = this.path[i].getChildren().get(letter);
+                }
+                if(node == null){
+                    node = addChild(this.path[i], letter);
+                }
+                this.path[i + 1] = node;
+            }
+            this.path[length].setLeaf();
+            System.arraycopy(letters, 0, this.previous, 0, length);
+            this.previousLength = length;
+        }
+    }
+
+    /**
+     * Reads a word list from a class loader into a sorted list of lower case
+     * words with duplicates, blank lines and words with anything other than
+     * the letters a to z left out.
+     * @param file file name
+     * @return sorted words
+     */
+    protected static List<String> readSortedWords(String file){
+        List<String> words = new ArrayList<>();
+        WordListReader.read(file, (letters, length) -> words.add(
+                new String(letters, 0, length, StandardCharsets.US_ASCII)));
+        Collections.sort(words);
+        List<String> sorted = new ArrayList<>(words.size());
+        for(String word: words){
+            if(sorted.isEmpty() ||
+                    !sorted.get(sorted.size() - 1).equals(word)){
+                sorted.add(word);
+            }
+        }
+        return sorted;
     }
 
     /**
@@ -43,6 +139,7 @@ public class Trie {
      */
     protected void insert(String word){
 
+        TrieNode parent = this.root;
         Map<Character, TrieNode> children = this.root.getChildren();
         word = word.toLowerCase();
         for(int i = 0; i < word.length(); i++){
@@ -51,9 +148,9 @@ public class Trie {
             if(children.containsKey(newChar)){
                 node = children.get(newChar);
             }else{
-                node = new TrieNode(newChar);
-                children.put(newChar, node);
+                node = this.addChild(parent, newChar);
             }
+            parent = node;
             children = node.getChildren();
 
             if(i ==  word.length() - 1){
@@ -63,12 +160,37 @@ public class Trie {
 
     }
 
+    /**
+     * Adds a new child node for a letter.
+     * @param parent parent node
+     * @param letter letter of the child
+     * @return new node
+     */
+    private TrieNode addChild(TrieNode parent, char letter){
+        TrieNode node = new TrieNode(letter);
+        node.setId(this.nodes.size());
+        this.nodes.add(node);
+        parent.getChildren().put(letter, node);
+        parent.addToChildMask(letter);
+        return node;
+    }
+
+    /**
+     * Returns the number of nodes in the Trie.
+     * @return node count
+     */
+    protected int getNodeCount(){
+
+        return this.nodes.size();
+    }
+
     /**
      * Searches for a partial word.
      * @param partial partial word to be checked
      * @return true or false if partial is in trie or not
      */
-    protected boolean searchPartial(String partial){
+    @Override
+    public boolean searchPartial(String partial){
         String copy;
         Map<Character, TrieNode> children = this.root.getChildren();
         TrieNode node;
@@ -90,7 +212,8 @@ public class Trie {
      * @param word word to search for
      * @return true or false
      */
-    protected boolean search(String word){
+    @Override
+    public boolean search(String word){
 
         String copy;
         Map<Character, TrieNode> children = this.root.getChildren();
@@ -114,7 +237,8 @@ public class Trie {
      * @param partialWord word to get to node
      * @return set of possible next characters
      */
-    protected Set<Character> getNodeKeys(String partialWord){
+    @Override
+    public Set<Character> getNodeKeys(String partialWord){
 
         Map<Character, TrieNode> children = this.root.getChildren();
         TrieNode node;
@@ -131,8 +255,55 @@ public class Trie {
                 break;
             }
         }
-        keys = children.keySet();
+        keys = Collections.unmodifiableSet(children.keySet());
         return keys;
     }
 
+    /**
+     * Returns the root node.
+     * @return root node
+     */
+    @Override
+    public int getRoot(){
+
+        return this.root.getId();
+    }
+
+    /**
+     * Returns the child of a node for a letter.
+     * @param node parent node
+     * @param letter lower case letter
+     * @return child node or -1 if there is none
+     */
+    @Override
+    public int child(int node, char letter){
+        TrieNode child = this.nodes.get(node).getChildren().get(letter);
+        if(child == null){
+            return -1;
+        }
+        return child.getId();
+    }
+
+    /**
+     * Checks if a node ends a word.
+     * @param node node to check
+     * @return true or false
+     */
+    @Override
+    public boolean isLeaf(int node){
+
+        return this.nodes.get(node).isLeaf();
+    }
+
+    /**
+     * Returns the letters a node has children for, one bit per letter.
+     * @param node node to check
+     * @return child mask
+     */
+    @Override
+    public int getChildMask(int node){
+
+        return this.nodes.get(node).getChildMask();
+    }
+
 }
@@ -11,6 +11,8 @@ public class TrieNode {
     private char letter;
     private Map<Character, TrieNode> children = new HashMap<>();
     private boolean isLeaf = false;
+    private int id;
+    private int childMask;
 
     /**
      * Empty TieNode Constructor makes an empty TrieNode.
@@ -55,4 +57,41 @@ public class TrieNode {
         this.isLeaf = true;
     }
 
+    /**
+     * Returns the id the Trie gave the node.
+     * @return node id
+     */
+    protected int getId(){
+
+        return this.id;
+    }
+
+    /**
+     * Sets the id of the node.
+     * @param id node id
+     */
+    protected void setId(int id){
+
+        this.id = id;
+    }
+
+    /**
+     * Returns the letters the node has children for, one bit per letter.
+     * @return child mask
+     */
+    protected int getChildMask(){
+
+        return this.childMask;
+    }
+
+    /**
+     * Adds a letter to the child mask.
+     * @param letter lower case letter
+     */
+    protected void addToChildMask(char letter){
+        if(letter >= 'a' && letter <= 'z'){
+            this.childMask |= 1 << (letter - 'a');
+        }
+    }
+
 }
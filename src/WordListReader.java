@@ -0,0 +1,96 @@
+package scrabble;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * WordListReader class streams the words of a word list one line at a time
+ * without making a String for each word. The file is read from a class
+ * loader through a channel into one buffer and each word is handed over as
+ * lower case letters in a reused byte array. Blank lines and words with
+ * anything other than the letters a to z are left out.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class WordListReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_WORD = 64;
+
+    /**
+     * WordSink interface is handed each word of the list.
+     */
+    public interface WordSink {
+
+        /**
+         * Takes the next word. The array is reused for the next word so it
+         * has to be read before this returns.
+         * @param letters lower case letters of the word
+         * @param length number of letters
+         */
+        void accept(byte[] letters, int length);
+    }
+
+    /**
+     * Reads every word of a word list.
+     * @param file file name
+     * @param sink where each word is handed
+     */
+    protected static void read(String file, WordSink sink){
+        InputStream dictionary = WordListReader.class.getClassLoader().
+                getResourceAsStream(file);
+        assert dictionary != null;
+        try(ReadableByteChannel channel = Channels.newChannel(dictionary)){
+            read(channel, sink);
+        }catch(IOException e){
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+    }
+
+    /**
+     * Reads every word from a channel.
+     * @param channel channel of the word list
+     * @param sink where each word is handed
+     * @throws IOException if the channel can't be read
+     */
+    private static void read(ReadableByteChannel channel, WordSink sink)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] word = new byte[MAX_WORD];
+        int length = 0;
+        boolean letters = true;
+        while(channel.read(buffer) >= 0){
+            buffer.flip();
+            while(buffer.hasRemaining()){
+                byte b = buffer.get();
+                if(b == '\n' || b == '\r'){
+                    if(letters && length > 0){
+                        sink.accept(word, length);
+                    }
+                    length = 0;
+                    letters = true;
+                    continue;
+                }
+                if(b >= 'A' && b <= 'Z'){
+                    b += 'a' - 'A';
+                }
+                if(b < 'a' || b > 'z'){
+                    letters = false;
+                }else if(letters){
+                    if(length == word.length){
+                        word = Arrays.copyOf(word, length * 2);
+                    }
+                    word[length++] = b;
+                }
+            }
+            buffer.clear();
+        }
+        if(letters && length > 0){
+            sink.accept(word, length);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package scrabble;
+import java.util.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BoardStateTest class plays a seeded game and checks after every move
+ * that updating the board state gives the same anchors, cross masks and
+ * cross sums as working them out again for the whole board.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class BoardStateTest {
+
+    private static Dictionary tree;
+
+    /**
+     * Loads the dictionary once for every test.
+     */
+    @BeforeAll
+    public static void loadDictionary(){
+
+        tree = new Trie("twl06.txt");
+    }
+
+    /**
+     * Checks that a board state that was updated matches one worked out
+     * from scratch.
+     * @param board board being played on
+     * @param updated board state updated move by move
+     */
+    private static void assertSameAsFresh(Board board, BoardState updated){
+        BoardState fresh = new BoardState(board, tree);
+        assertEquals(fresh.getAnchors(), updated.getAnchors());
+        for(int y = 0; y < board.getRows(); y++){
+            for(int x = 0; x < board.getCols(); x++){
+                for(Direction direction: new Direction[]{Direction.RIGHT,
+                        Direction.DOWN}){
+                    assertEquals(fresh.getCrossChecks().getMask(x, y,
+                            direction), updated.getCrossChecks().getMask(x,
+                            y, direction), "mask at " + x + "," + y);
+                }
+                for(boolean across: new boolean[]{true, false}){
+                    assertEquals(fresh.getScoreGrid().getCrossSum(x, y,
+                            across), updated.getScoreGrid().getCrossSum(x,
+                            y, across), "cross sum at " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays a game move by move, checking the board state after each one.
+     * @throws Exception because the board is read from a file
+     */
+    @Test
+    public void updateMatchesFreshState() throws Exception {
+        Board board = SelfPlay.readEmptyBoard();
+        board.getBag().setRandom(new SplittableRandom(11));
+        BoardState state = new BoardState(board, tree);
+        Solver solver = new Solver(tree, null);
+        solver.setBoardState(state);
+        Tray tray = new Tray(new LinkedList<>());
+        board.getBag().fillTray(tray);
+        int moves = 0;
+        for(int passes = 0; passes < 2 && !tray.getTray().isEmpty();){
+            Score score = solver.getScore();
+            score.setHighScore(0);
+            score.setHighScoreWord(null);
+            score.setWordToPlay(null);
+            List<BoardCell> anchors = state.getAnchors();
+            if(anchors.isEmpty()){
+                anchors = Collections.singletonList(board.getCell(
+                        board.getCols() / 2, board.getRows() / 2));
+            }
+            solver.setBoardAnchors(anchors);
+            List<BoardCell> placed = solver.solve(board, tray);
+            if(placed == null){
+                passes++;
+                continue;
+            }
+            passes = 0;
+            solver.placeWord(board);
+            state.update(placed);
+            board.getBag().fillTray(tray);
+            assertSameAsFresh(board, state);
+            moves++;
+        }
+        assertTrue(moves > 5, "only " + moves + " moves were played");
+    }
+}
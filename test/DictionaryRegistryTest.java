@@ -0,0 +1,151 @@
+package scrabble;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DictionaryRegistryTest class checks that lists are only loaded when a
+ * handle is used, that the ones used longest ago are let go under the
+ * memory cap and that threads asking at the same time share one load.
+ * Every list is loaded from the small animals list so the tests are quick.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class DictionaryRegistryTest {
+
+    private static final int THREADS = 8;
+
+    private AtomicInteger loads = new AtomicInteger();
+
+    /**
+     * Loads the animals list whatever name is asked for and counts it.
+     * @param file file name asked for
+     * @return dictionary
+     */
+    private Dictionary countingLoad(String file){
+        this.loads.incrementAndGet();
+        return new Trie("animals.txt");
+    }
+
+    /**
+     * A list isn't loaded until its handle is used, and is then loaded
+     * once and handed out to everyone asking.
+     */
+    @Test
+    public void loadsWhenFirstUsed(){
+        DictionaryRegistry registry = new DictionaryRegistry(
+                DictionaryRegistry.NO_CAP, this::countingLoad);
+        DictionaryHandle handle = registry.get("twl06.txt");
+        assertFalse(registry.isLoaded("twl06"));
+        assertEquals(0, this.loads.get());
+        Dictionary dictionary = handle.getDictionary();
+        assertTrue(registry.isLoaded("twl06"));
+        assertSame(dictionary, handle.getDictionary());
+        assertSame(dictionary, registry.get("twl06").getDictionary());
+        assertEquals(1, this.loads.get());
+        assertEquals(DictionaryRegistry.estimateBytes(dictionary),
+                registry.getLoadedBytes());
+    }
+
+    /**
+     * Loading a bundled list from the command line only hands out its
+     * handle, so the list is still not loaded.
+     * @throws Exception because a compiled dictionary could be read
+     */
+    @Test
+    public void commandLineLoadIsLazy() throws Exception {
+        DictionaryHandle handle = Solver.loadDictionary("enable.txt",
+                new String[0]);
+        assertSame(DictionaryRegistry.getShared().get("enable"), handle);
+        assertFalse(DictionaryRegistry.getShared().isLoaded("enable"));
+    }
+
+    /**
+     * With room for two lists, loading a third lets go of the one used
+     * longest ago, and that one is loaded again when it is next asked for.
+     */
+    @Test
+    public void evictsLeastRecentlyUsed(){
+        long size = DictionaryRegistry.estimateBytes(new Trie("animals.txt"));
+        DictionaryRegistry registry = new DictionaryRegistry(2 * size,
+                this::countingLoad);
+        Dictionary enable = registry.get("enable").getDictionary();
+        registry.get("twl06").getDictionary();
+        assertSame(enable, registry.get("enable").getDictionary());
+        registry.get("sowpods").getDictionary();
+        assertTrue(registry.isLoaded("enable"));
+        assertFalse(registry.isLoaded("twl06"));
+        assertTrue(registry.isLoaded("sowpods"));
+        assertEquals(2 * size, registry.getLoadedBytes());
+        assertEquals(3, this.loads.get());
+
+        registry.get("twl06").getDictionary();
+        assertFalse(registry.isLoaded("enable"));
+        assertTrue(registry.isLoaded("twl06"));
+        assertEquals(2 * size, registry.getLoadedBytes());
+        assertEquals(4, this.loads.get());
+    }
+
+    /**
+     * Every thread asking for the shared registry at once gets the same
+     * one.
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void sharedRegistryIsMadeOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try{
+            List<Future<DictionaryRegistry>> registries = new ArrayList<>();
+            for(int i = 0; i < THREADS; i++){
+                registries.add(executor.submit(() -> {
+                    start.await();
+                    return DictionaryRegistry.getShared();
+                }));
+            }
+            start.countDown();
+            for(Future<DictionaryRegistry> registry: registries){
+                assertSame(DictionaryRegistry.getShared(), registry.get());
+            }
+        }finally{
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Threads asking for the same list at once wait for one load and all
+     * get its dictionary.
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void concurrentUsesShareOneLoad() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        DictionaryRegistry registry = new DictionaryRegistry(
+                DictionaryRegistry.NO_CAP, file -> {
+                    try{
+                        start.await();
+                    }catch(InterruptedException e){
+                        Thread.currentThread().interrupt();
+                    }
+                    return this.countingLoad(file);
+                });
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try{
+            List<Future<Dictionary>> dictionaries = new ArrayList<>();
+            for(int i = 0; i < THREADS; i++){
+                dictionaries.add(executor.submit(() ->
+                        registry.get("animals").getDictionary()));
+            }
+            start.countDown();
+            Dictionary first = dictionaries.get(0).get();
+            for(Future<Dictionary> dictionary: dictionaries){
+                assertSame(first, dictionary.get());
+            }
+            assertEquals(1, this.loads.get());
+        }finally{
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package scrabble;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MatchTest class checks when a game ends and how the tiles left are
+ * settled at the end of it.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class MatchTest {
+
+    /**
+     * Makes a tray of tiles worth the given points.
+     * @param points points of each tile
+     * @return tray
+     */
+    private static Tray trayOf(int... points){
+        List<Tile> tiles = new LinkedList<>();
+        for(int point: points){
+            tiles.add(new Tile("a", point));
+        }
+        return new Tray(tiles);
+    }
+
+    /**
+     * Makes a score with some points already scored.
+     * @param points points scored
+     * @return score
+     */
+    private static Score scoreOf(int points){
+        Score score = new Score();
+        score.addToScore(points);
+        return score;
+    }
+
+    /**
+     * Makes a board with nothing left in the bag.
+     * @return board
+     * @throws Exception because the board is read from a file
+     */
+    private static Board emptyBag() throws Exception {
+        Board board = SelfPlay.readEmptyBoard();
+        board.getBag().takeFromBag(board.getBagSize());
+        return board;
+    }
+
+    /**
+     * The game is over once both players pass in a row, and a move in
+     * between starts the count again.
+     * @throws Exception because the board is read from a file
+     */
+    @Test
+    public void twoPassesInARowEndTheGame() throws Exception {
+        Match match = new Match(SelfPlay.readEmptyBoard(), new Tray[]{
+                trayOf(1), trayOf(1)}, new Score[]{new Score(), new Score()});
+        match.passed();
+        assertEquals(1, match.onMove());
+        match.played();
+        match.passed();
+        assertFalse(match.isOver());
+        match.passed();
+        assertTrue(match.isOver());
+    }
+
+    /**
+     * Using every tile with the bag empty ends the game straight away,
+     * and the player who went out gets the points left in the other tray.
+     * @throws Exception because the board is read from a file
+     */
+    @Test
+    public void goingOutEndsTheGameAndTakesTheTilesLeft() throws Exception {
+        Score first = scoreOf(100);
+        Score second = scoreOf(110);
+        Match match = new Match(emptyBag(), new Tray[]{trayOf(),
+                trayOf(3, 4)}, new Score[]{first, second});
+        match.played();
+        assertTrue(match.isOver());
+        assertEquals(1, match.settle());
+        assertEquals(107, first.getCurrentScore());
+        assertEquals(103, second.getCurrentScore());
+    }
+
+    /**
+     * A tie on the final scores goes to whoever was ahead before the tiles
+     * were settled, and is a tie if they were level then too.
+     * @throws Exception because the board is read from a file
+     */
+    @Test
+    public void tiesGoToWhoeverWasAhead() throws Exception {
+        Match ahead = new Match(emptyBag(), new Tray[]{trayOf(5),
+                trayOf(1)}, new Score[]{scoreOf(54), scoreOf(50)});
+        assertEquals(1, ahead.settle());
+        Match level = new Match(emptyBag(), new Tray[]{trayOf(2),
+                trayOf(2)}, new Score[]{scoreOf(50), scoreOf(50)});
+        assertEquals(Match.TIE, level.settle());
+    }
+}
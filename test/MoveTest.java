@@ -0,0 +1,155 @@
+package scrabble;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MoveTest class checks that moves of any length pack and come back out
+ * the same, that MoveList keeps moves of different lengths apart and that
+ * a board too big for the old four long moves can be solved.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class MoveTest {
+
+    private static final String LONG_WORD =
+            "abcdefghijklmnopqrstuvwxyzabcd";
+    private static final int BIG_BOARD = 40;
+    private static final int FIVE_BIT_LIMIT = 32;
+
+    /**
+     * Makes the cells of a word across a row, every other letter placed
+     * from the tray and the letters in upper case played as blanks.
+     * @param word word
+     * @param y row of the word
+     * @param tilesPlaced list the cells of the placed tiles are added to
+     * @return cells of the whole word
+     */
+    private static List<BoardCell> across(String word, int y,
+                                          List<BoardCell> tilesPlaced){
+        List<BoardCell> posWord = new ArrayList<>();
+        for(int i = 0; i < word.length(); i++){
+            BoardCell cell = new BoardCell(i, y);
+            cell.setTileInCell(new Tile(String.valueOf(word.charAt(i)), 1));
+            posWord.add(cell);
+            if(i % 2 == 0){
+                tilesPlaced.add(cell);
+            }
+        }
+        return posWord;
+    }
+
+    /**
+     * Makes the text of an empty square board the way it is read in, with
+     * a word across the last row ending in the last column.
+     * @param size number of rows and cols
+     * @param word word on the last row
+     * @return scanner over the board
+     */
+    private static Scanner boardWith(int size, String word){
+        StringBuilder text = new StringBuilder("\n");
+        for(int i = 0; i < size; i++){
+            List<String> row = new ArrayList<>(Collections.nCopies(size,
+                    ".."));
+            for(int j = 0; i == size - 1 && j < word.length(); j++){
+                row.set(size - word.length() + j, " " + word.charAt(j));
+            }
+            text.append(String.join(" ", row)).append("\n");
+        }
+        return new Scanner(text.toString());
+    }
+
+    /**
+     * A word spread over four longs of letters, on a row further down than
+     * five bits can hold, comes back out the same.
+     */
+    @Test
+    public void longMoveRoundTrips(){
+        String word = LONG_WORD.substring(0, 8) + "IJ" +
+                LONG_WORD.substring(10);
+        List<BoardCell> tilesPlaced = new ArrayList<>();
+        Move move = Move.of(across(word, BIG_BOARD - 1, tilesPlaced),
+                tilesPlaced, 321);
+        assertEquals(word.length(), move.getLength());
+        assertEquals(word, move.getWord());
+        assertEquals("acegIkmoqsuwyac", move.getTiles());
+        assertEquals(0, move.getX());
+        assertEquals(BIG_BOARD - 1, move.getY());
+        assertTrue(move.isAcross());
+        assertEquals(321, move.getScore());
+        assertTrue(move.isBlank(9));
+        assertFalse(move.isPlaced(9));
+        assertEquals(move, Move.of(across(word, BIG_BOARD - 1,
+                new ArrayList<>()), tilesPlaced, 321));
+    }
+
+    /**
+     * Moves of different lengths added one by one or a list at a time come
+     * back out in order.
+     */
+    @Test
+    public void moveListKeepsMovesApart(){
+        MoveList moves = new MoveList();
+        MoveList more = new MoveList();
+        List<Move> added = new ArrayList<>();
+        for(int length = 2; length < LONG_WORD.length(); length++){
+            List<BoardCell> tilesPlaced = new ArrayList<>();
+            Move move = Move.of(across(LONG_WORD.substring(0, length),
+                    length, tilesPlaced), tilesPlaced, length * 3);
+            long[] packed = new long[Move.longsFor(length)];
+            Move.pack(across(LONG_WORD.substring(0, length), length,
+                    new ArrayList<>()), tilesPlaced, length * 3, packed, 0);
+            (length % 2 == 0 ? moves : more).add(packed, 0);
+            added.add(move);
+        }
+        MoveList all = new MoveList();
+        for(int i = 0; i < moves.size(); i++){
+            all.add(moves, i);
+            all.add(more, i);
+        }
+        assertEquals(added.size(), all.size());
+        for(int i = 0; i < all.size(); i++){
+            assertEquals(added.get(i), all.get(i));
+            assertEquals(added.get(i).getScore(), all.getScore(i));
+        }
+        moves.addAll(more);
+        assertEquals(added.get(1), moves.get(moves.size() - more.size()));
+    }
+
+    /**
+     * A word going off the edge of the biggest board a move can hold is
+     * turned away.
+     */
+    @Test
+    public void moveOffTheEdgeThrows(){
+        List<BoardCell> tilesPlaced = new ArrayList<>();
+        List<BoardCell> posWord = across("ab", Move.MAX_SIZE, tilesPlaced);
+        assertThrows(IllegalArgumentException.class,
+                () -> Move.of(posWord, tilesPlaced, 0));
+    }
+
+    /**
+     * A board bigger than 24 by 24 is read in and solved, the best moves
+     * going through the far corner where five bits can't hold the row or
+     * column.
+     * @throws Exception because the board is read from text
+     */
+    @Test
+    public void bigBoardIsSolved() throws Exception {
+        Board board = Solver.readInBoard(boardWith(BIG_BOARD, "cat"),
+                BIG_BOARD);
+        assertEquals(BIG_BOARD, board.getRows());
+        Solver solver = new Solver(new Trie("twl06.txt"));
+        solver.setBoardAnchors(solver.findAnchors(board));
+        solver.setTopMoves(5);
+        List<Tile> tiles = new ArrayList<>();
+        for(char letter: "sdoge".toCharArray()){
+            tiles.add(new Tile(String.valueOf(letter), 1));
+        }
+        assertNotNull(solver.solve(board, new Tray(tiles)));
+        assertFalse(solver.getTopMoves().isEmpty());
+        for(Move move: solver.getTopMoves()){
+            assertTrue(Math.max(move.getX(), move.getY()) >= FIVE_BIT_LIMIT);
+        }
+    }
+}
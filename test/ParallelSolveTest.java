@@ -0,0 +1,119 @@
+package scrabble;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelSolveTest class checks that splitting a solve's anchors across
+ * threads finds the same best word and the same top moves, in the same
+ * order, as solving them one after another. The example boards are
+ * solved with blanks in the tray and the top moves go deep enough that
+ * the same word scores the same in more than one place, so the order the
+ * workers' moves are merged in decides the list.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class ParallelSolveTest {
+
+    private static final String BOARDS = "example_input.txt";
+    private static final int TOP = 1000;
+    private static final int THREADS = 4;
+    private static final int BLANKS = 2;
+
+    private static DictionaryHandle tree;
+    private static Gaddag gaddag;
+    private static ForkJoinPool pool;
+
+    /**
+     * Loads the dictionary and GADDAG once for every test.
+     */
+    @BeforeAll
+    public static void setUp(){
+        tree = DictionaryHandle.of(new Trie("twl06.txt"));
+        gaddag = new Gaddag("twl06.txt");
+        pool = new ForkJoinPool(THREADS);
+    }
+
+    /**
+     * Shuts the thread pool down.
+     */
+    @AfterAll
+    public static void tearDown(){
+
+        pool.shutdown();
+    }
+
+    /**
+     * Turns letters of a tray into blanks until it has two, or as many as
+     * the blanks left off the board allow.
+     * @param tray letters of the tray
+     * @param board board the tray is played on
+     * @return tray with the blanks
+     */
+    private static String withBlanks(String tray, Board board){
+        char[] letters = tray.toCharArray();
+        int blanks = 0;
+        for(char letter: letters){
+            if(letter == '*'){
+                blanks++;
+            }
+        }
+        int wanted = Math.min(BLANKS, blanks +
+                board.getBag().getCount(Rack.BLANK));
+        for(int i = 0; i < letters.length && blanks < wanted; i++){
+            if(letters[i] != '*'){
+                letters[i] = '*';
+                blanks++;
+            }
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Solves every example board with and without the pool and checks the
+     * solutions and top moves match.
+     * @param gaddag gaddag to solve with or null
+     * @throws Exception because the boards are read from a file
+     */
+    private static void assertSameWithThreads(Gaddag gaddag)
+            throws Exception {
+        Scanner scanner = new Scanner(ParallelSolveTest.class
+                .getClassLoader().getResourceAsStream(BOARDS));
+        int boards = 0;
+        while(scanner.hasNextInt()){
+            int size = scanner.nextInt();
+            Board board = Solver.readInBoard(scanner, size);
+            String tray = withBlanks(scanner.nextLine(), board);
+            String sequential = Solver.solveBoard(tree, gaddag, null,
+                    board.copyBoard(), tray, TOP, 0);
+            String parallel = Solver.solveBoard(tree, gaddag, pool,
+                    board.copyBoard(), tray, TOP, 0);
+            assertEquals(sequential, parallel, "board " + boards);
+            boards++;
+        }
+        assertTrue(boards > 0);
+    }
+
+    /**
+     * The classic solver finds the same moves with threads.
+     * @throws Exception because the boards are read from a file
+     */
+    @Test
+    public void classicSolverMatches() throws Exception {
+
+        assertSameWithThreads(null);
+    }
+
+    /**
+     * The GADDAG solver finds the same moves with threads.
+     * @throws Exception because the boards are read from a file
+     */
+    @Test
+    public void gaddagSolverMatches() throws Exception {
+
+        assertSameWithThreads(gaddag);
+    }
+}
@@ -0,0 +1,103 @@
+package scrabble;
+import java.util.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimulationTest class checks that a seeded simulation with time to play
+ * every rollout picks the same move however many threads it plays on, and
+ * that a simulation cancelled before it starts plays no rollouts. The
+ * small animals list keeps the rollouts quick.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class SimulationTest {
+
+    private static final int CANDIDATES = 3;
+    private static final long BUDGET = 600000;
+    private static final long SEED = 42;
+
+    private static Dictionary tree;
+    private static Board board;
+    private static Tray tray;
+    private static MoveList moves;
+
+    /**
+     * Finds every move on the first example board once for every test.
+     * @throws Exception because the board is read from a file
+     */
+    @BeforeAll
+    public static void findMoves() throws Exception {
+        tree = new Trie("animals.txt");
+        Scanner scanner = new Scanner(SimulationTest.class.getClassLoader()
+                .getResourceAsStream("example_input.txt"));
+        int size = scanner.nextInt();
+        board = Solver.readInBoard(scanner, size);
+        List<Tile> tiles = new ArrayList<>();
+        for(char letter: "ratcowe".toCharArray()){
+            tiles.add(new Tile(String.valueOf(letter), 1));
+        }
+        tray = new Tray(tiles);
+        Solver solver = new Solver(tree);
+        solver.setBoardAnchors(solver.findAnchors(board));
+        moves = new MoveList();
+        solver.setAllMoves(moves);
+        solver.solve(board, tray.copyTray());
+    }
+
+    /**
+     * Picks a move with a seeded simulation.
+     * @param workers number of rollouts played at once
+     * @param cancelled true to cancel the simulation before it starts
+     * @return simulation after it picked the move
+     */
+    private static Simulation simulate(int workers, boolean cancelled){
+        Simulation simulation = new Simulation(tree, null, CANDIDATES,
+                BUDGET, workers);
+        simulation.setSeed(SEED);
+        if(cancelled){
+            simulation.cancel();
+        }
+        return simulation;
+    }
+
+    /**
+     * With time to play every rollout, one thread and four threads play
+     * the same number of rollouts over the same racks and pick the same
+     * move.
+     */
+    @Test
+    public void seededChoiceIsTheSameOnAnyThreads(){
+        Simulation single = simulate(1, false);
+        Simulation parallel = simulate(4, false);
+        try{
+            Move first = single.choose(board, tray, moves);
+            Move second = parallel.choose(board, tray, moves);
+            assertEquals(CANDIDATES * Simulation.MAX_ROLLOUTS,
+                    single.getRollouts());
+            assertEquals(single.getRollouts(), parallel.getRollouts());
+            assertEquals(first, second);
+        }finally{
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    /**
+     * A simulation cancelled before it picks a move plays no rollouts and
+     * picks the best scoring move.
+     */
+    @Test
+    public void cancelledChoicePlaysNoRollouts(){
+        Simulation simulation = simulate(4, true);
+        try{
+            Move move = simulation.choose(board, tray, moves);
+            assertEquals(0, simulation.getRollouts());
+            assertEquals(Simulation.bestMoves(moves, CANDIDATES).get(0),
+                    move);
+        }finally{
+            simulation.shutdown();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package scrabble;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TilesBagTest class checks how trays are filled near the end of the bag
+ * and that copying a bag leaves the original drawing the same tiles.
+ * @author Sam Cox
+ * @version date 3/6/20
+ */
+public class TilesBagTest {
+
+    /**
+     * Makes a bag with only some tiles left in it.
+     * @param left number of tiles left
+     * @return bag
+     * @throws Exception because the tiles are read from a file
+     */
+    private static TilesBag bagWith(int left) throws Exception {
+        TilesBag bag = new TilesBag();
+        bag.takeFromBag(bag.getBagSize() - left);
+        return bag;
+    }
+
+    /**
+     * Makes a tray holding some tiles.
+     * @param tiles number of tiles
+     * @return tray
+     * @throws Exception because the tiles are read from a file
+     */
+    private static Tray trayWith(int tiles) throws Exception {
+
+        return new Tray(new TilesBag().takeFromBag(tiles));
+    }
+
+    /**
+     * A tray short of more tiles than are left takes every tile left.
+     * @throws Exception because the tiles are read from a file
+     */
+    @Test
+    public void fillTrayTakesWhatIsLeft() throws Exception {
+        TilesBag bag = bagWith(3);
+        Tray tray = trayWith(2);
+        bag.fillTray(tray);
+        assertEquals(5, tray.getTray().size());
+        assertEquals(0, bag.getBagSize());
+    }
+
+    /**
+     * A tray is filled to 7 even when fewer than 7 tiles are left in the
+     * bag, as long as there are enough to fill it.
+     * @throws Exception because the tiles are read from a file
+     */
+    @Test
+    public void fillTrayFillsFromASmallBag() throws Exception {
+        TilesBag bag = bagWith(3);
+        Tray tray = trayWith(5);
+        bag.fillTray(tray);
+        assertEquals(7, tray.getTray().size());
+        assertEquals(1, bag.getBagSize());
+    }
+
+    /**
+     * Copying a bag, or making a bag of the unseen tiles, doesn't change
+     * the tiles the original draws next.
+     * @throws Exception because the tiles are read from a file
+     */
+    @Test
+    public void copiesLeaveTheOriginalAlone() throws Exception {
+        TilesBag copied = new TilesBag();
+        TilesBag plain = new TilesBag();
+        copied.setRandom(new SplittableRandom(7));
+        plain.setRandom(new SplittableRandom(7));
+        copied.copyBag().takeFromBag(10);
+        copied.unseenBy(new Board(3, 3, new StringBuilder(
+                "\n.. .. ..\n.. .. ..\n.. .. ..\n")), trayWith(0));
+        List<Tile> fromCopied = copied.takeFromBag(20);
+        List<Tile> fromPlain = plain.takeFromBag(20);
+        for(int i = 0; i < fromPlain.size(); i++){
+            assertEquals(fromPlain.get(i).getLetter(),
+                    fromCopied.get(i).getLetter());
+        }
+        assertEquals(plain.getBagSize(), copied.getBagSize());
+    }
+}